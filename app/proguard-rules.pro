@@ -18,4 +18,19 @@
 
 # If you keep the line number information, uncomment this to
 # hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+#-renamesourcefileattribute SourceFile
+# Keep line numbers so release stack traces stay readable
+-keepattributes SourceFile,LineNumberTable
+-renamesourcefileattribute SourceFile
+
+# Room: the generated _Impl classes are looked up by name
+-keep class * extends androidx.room.RoomDatabase { <init>(); }
+-keep @androidx.room.Entity class * { *; }
+-keep @androidx.room.Dao interface *
+
+# Firebase ships its own consumer rules; documents are read and written as maps, so no
+# model classes need keeping. Keep generic signatures for the SDK's own reflection.
+-keepattributes Signature,*Annotation*,EnclosingMethod,InnerClasses
+
+# Picasso references the old OkHttp 2 package optionally
+-dontwarn com.squareup.okhttp.**
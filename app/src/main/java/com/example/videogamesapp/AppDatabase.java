@@ -1,9 +1,47 @@
 package com.example.videogamesapp;
 
+import android.content.Context;
+
 import androidx.room.Database;
+import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
-@Database(entities = {Game.class}, version = 1)
+@Database(entities = {Game.class, GameFts.class, CatalogEntry.class, CatalogList.class, LikeMutation.class},
+        version = 4, exportSchema = false)
 public abstract class AppDatabase extends RoomDatabase {
+    private static final String DATABASE_NAME = "videogames.db";
+    private static volatile AppDatabase instance;
+
     public abstract GameDao gameDao();
-}
\ No newline at end of file
+
+    public abstract LikeMutationDao likeMutationDao();
+
+    // Pending likes are user data, not cache: keep the database when adding their table
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `like_mutation` (`userId` TEXT NOT NULL, `gameId` INTEGER NOT NULL, "
+                    + "`liked` INTEGER NOT NULL, `updatedAt` INTEGER NOT NULL, PRIMARY KEY(`userId`, `gameId`))");
+        }
+    };
+
+    /**
+     * Returns the process-wide database. Most of its content is a cache of RAWG data,
+     * so schema changes without a migration simply drop and rebuild it.
+     */
+    public static AppDatabase getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AppDatabase.class) {
+                if (instance == null) {
+                    instance = Room.databaseBuilder(context.getApplicationContext(), AppDatabase.class, DATABASE_NAME)
+                            .addMigrations(MIGRATION_3_4)
+                            .fallbackToDestructiveMigration()
+                            .build();
+                }
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.videogamesapp;
+
+import android.app.Activity;
+import android.content.res.Resources;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.Log;
+import android.view.FrameMetrics;
+import android.view.View;
+import android.view.Window;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Measures what lists cost on the main thread: onCreateViewHolder and onBindViewHolder
+ * durations per adapter and view type, and the frames drawn while each list scrolls,
+ * taken from the window's FrameMetrics. Adapters plug in through a Probe: time each create
+ * and bind with start() and one of the end calls, and track the frames of their
+ * RecyclerView with trackFrames() while attached to it. report() prints everything as
+ * sorted lines with stable names, so reports of two builds can be diffed. Probes are used
+ * from the main thread.
+ */
+public class BindProfiler {
+    private static final String TAG = "BindProfiler";
+
+    // Bind and create durations, in microseconds
+    static final long[] BIND_BOUNDS_US = {
+            50, 100, 250, 500, 1000, 2000, 4000, 8000, 16_000, 32_000
+    };
+    // Frame durations, in microseconds: multiples of a 60 Hz frame and finer steps below it
+    static final long[] FRAME_BOUNDS_US = {
+            4000, 8000, 12_000, 16_700, 25_000, 33_400, 50_000, 66_700, 100_000, 250_000
+    };
+
+    private static final int CREATE = 0;
+    private static final int BIND = 1;
+    private static final int PARTIAL_BIND = 2;
+    private static final String[] KIND_NAMES = {"create", "bind", "partial_bind"};
+
+    private static volatile boolean enabled = true;
+    // Probes by name, sorted so reports list them in a stable order
+    private static final Map<String, Probe> probes = new TreeMap<>();
+    private static Handler frameMetricsHandler;
+
+    /**
+     * Turns timing on or off for every probe; off, start() and the end calls do nothing
+     */
+    public static void setEnabled(boolean enabled) {
+        BindProfiler.enabled = enabled;
+    }
+
+    /**
+     * @return The probe of an adapter on a screen, named after both, e.g.
+     *         "MainActivity/NewGamesAdapter"; the same probe for the same names
+     */
+    public static Probe probe(Activity screen, String adapterName) {
+        // Activity names survive shrinking, they are referenced from the manifest
+        return probe(screen.getClass().getSimpleName() + "/" + adapterName);
+    }
+
+    /**
+     * @return The probe registered under the name, created on first use
+     */
+    public static Probe probe(String name) {
+        synchronized (probes) {
+            Probe probe = probes.get(name);
+            if (probe == null) {
+                probe = new Probe(name);
+                probes.put(name, probe);
+            }
+            return probe;
+        }
+    }
+
+    /**
+     * @return One line per adapter, view type and kind of work, then one per list for its
+     *         scrolling frames. Durations are in microseconds, percentiles are bucket bounds.
+     */
+    public static String report() {
+        List<Probe> snapshot;
+        synchronized (probes) {
+            snapshot = new ArrayList<>(probes.values());
+        }
+        StringBuilder out = new StringBuilder();
+        for (Probe probe : snapshot) {
+            probe.appendTo(out);
+        }
+        return out.length() > 0 ? out.toString() : "No lists measured\n";
+    }
+
+    public static void reset() {
+        synchronized (probes) {
+            for (Probe probe : probes.values()) {
+                probe.reset();
+            }
+        }
+    }
+
+    private static synchronized Handler frameMetricsHandler() {
+        if (frameMetricsHandler == null) {
+            HandlerThread thread = new HandlerThread("FrameMetrics");
+            thread.start();
+            frameMetricsHandler = new Handler(thread.getLooper());
+        }
+        return frameMetricsHandler;
+    }
+
+    /**
+     * Statistics of one adapter. Binds are recorded on the main thread, frames on the
+     * frame metrics thread; both are read by report() from any thread.
+     */
+    public static class Probe {
+        private final String name;
+        // Per view type: a histogram per kind of work, in the order types were first seen
+        private final List<ViewTypeStats> viewTypes = new ArrayList<>();
+        private final Histogram frameDurations = new Histogram(FRAME_BOUNDS_US);
+        private int jankyFrames;
+        private long droppedFrames;
+
+        Probe(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return A start time to pass to an end call, 0 while profiling is off
+         */
+        public long start() {
+            return enabled ? System.nanoTime() : 0;
+        }
+
+        /**
+         * Ends the creation of a holder; RecyclerView only sets its view type afterwards
+         */
+        public void endCreate(RecyclerView.ViewHolder holder, int viewType, long start) {
+            end(holder, viewType, CREATE, start);
+        }
+
+        public void endBind(RecyclerView.ViewHolder holder, long start) {
+            end(holder, holder.getItemViewType(), BIND, start);
+        }
+
+        /**
+         * Ends the bind of a holder with payloads, which is a partial rebind when the payloads
+         * are not empty
+         */
+        public void endBind(RecyclerView.ViewHolder holder, List<Object> payloads, long start) {
+            end(holder, holder.getItemViewType(), payloads.isEmpty() ? BIND : PARTIAL_BIND, start);
+        }
+
+        private void end(RecyclerView.ViewHolder holder, int viewType, int kind, long start) {
+            if (start == 0) {
+                return;
+            }
+            long durationUs = (System.nanoTime() - start) / 1000L;
+            synchronized (this) {
+                ViewTypeStats stats = null;
+                for (int i = 0; i < viewTypes.size(); i++) {
+                    if (viewTypes.get(i).viewType == viewType) {
+                        stats = viewTypes.get(i);
+                        break;
+                    }
+                }
+                if (stats == null) {
+                    stats = new ViewTypeStats(viewType, viewTypeName(holder.itemView, viewType));
+                    viewTypes.add(stats);
+                }
+                stats.durations[kind].add(durationUs);
+            }
+        }
+
+        /**
+         * Records the frames drawn while the list scrolls, until the tracker is detached
+         */
+        public FrameTracker trackFrames(Activity activity, RecyclerView list) {
+            FrameTracker tracker = new FrameTracker(this, activity.getWindow(),
+                    activity.getWindowManager().getDefaultDisplay().getRefreshRate());
+            list.addOnScrollListener(tracker);
+            list.addOnAttachStateChangeListener(tracker);
+            return tracker;
+        }
+
+        synchronized void recordFrame(long durationUs, long frameIntervalUs) {
+            frameDurations.add(durationUs);
+            if (durationUs > frameIntervalUs) {
+                jankyFrames++;
+                // Vsyncs that passed without a new frame
+                droppedFrames += (durationUs - 1) / frameIntervalUs;
+            }
+        }
+
+        synchronized void reset() {
+            viewTypes.clear();
+            frameDurations.clear();
+            jankyFrames = 0;
+            droppedFrames = 0;
+        }
+
+        synchronized void appendTo(StringBuilder out) {
+            List<ViewTypeStats> sorted = new ArrayList<>(viewTypes);
+            Collections.sort(sorted, (a, b) -> a.name.compareTo(b.name));
+            for (ViewTypeStats stats : sorted) {
+                for (int kind = 0; kind < KIND_NAMES.length; kind++) {
+                    Histogram durations = stats.durations[kind];
+                    if (durations.getCount() == 0) {
+                        continue;
+                    }
+                    out.append(String.format(Locale.US,
+                            "%s %s %s n=%d mean=%d p50<=%d p95<=%d p99<=%d max=%d%n",
+                            name, stats.name, KIND_NAMES[kind], durations.getCount(), durations.mean(),
+                            durations.percentile(50), durations.percentile(95), durations.percentile(99),
+                            durations.getMax()));
+                }
+            }
+            if (frameDurations.getCount() > 0) {
+                out.append(String.format(Locale.US,
+                        "%s scroll_frames n=%d janky=%d dropped=%d mean=%d p50<=%d p95<=%d p99<=%d max=%d%n",
+                        name, frameDurations.getCount(), jankyFrames, droppedFrames, frameDurations.mean(),
+                        frameDurations.percentile(50), frameDurations.percentile(95),
+                        frameDurations.percentile(99), frameDurations.getMax()));
+            }
+        }
+
+        /**
+         * Names a view type after its layout when it is a layout ID, as GameViewHolder's is
+         */
+        private static String viewTypeName(View itemView, int viewType) {
+            if (viewType != 0) {
+                try {
+                    return itemView.getResources().getResourceEntryName(viewType);
+                } catch (Resources.NotFoundException ignored) {
+                    // a plain number
+                }
+            }
+            return "type" + viewType;
+        }
+    }
+
+    private static class ViewTypeStats {
+        final int viewType;
+        final String name;
+        final Histogram[] durations = new Histogram[KIND_NAMES.length];
+
+        ViewTypeStats(int viewType, String name) {
+            this.viewType = viewType;
+            this.name = name;
+            for (int i = 0; i < durations.length; i++) {
+                durations[i] = new Histogram(BIND_BOUNDS_US);
+            }
+        }
+    }
+
+    /**
+     * Listens to the window's frame metrics only while its list is scrolling, so idle
+     * screens cost nothing
+     */
+    public static class FrameTracker extends RecyclerView.OnScrollListener
+            implements View.OnAttachStateChangeListener, Window.OnFrameMetricsAvailableListener {
+        private final Probe probe;
+        private final Window window;
+        private final long frameIntervalUs;
+        private boolean listening;
+
+        FrameTracker(Probe probe, Window window, float refreshRate) {
+            this.probe = probe;
+            this.window = window;
+            this.frameIntervalUs = (long) (1_000_000 / (refreshRate > 0 ? refreshRate : 60f));
+        }
+
+        public void detach(RecyclerView list) {
+            stopListening();
+            list.removeOnScrollListener(this);
+            list.removeOnAttachStateChangeListener(this);
+        }
+
+        @Override
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+            if (newState != RecyclerView.SCROLL_STATE_IDLE && enabled) {
+                startListening();
+            } else {
+                stopListening();
+            }
+        }
+
+        @Override
+        public void onViewAttachedToWindow(View view) {
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View view) {
+            stopListening();
+        }
+
+        @Override
+        public void onFrameMetricsAvailable(Window window, FrameMetrics frameMetrics, int dropCountSinceLastInvocation) {
+            probe.recordFrame(frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION) / 1000L, frameIntervalUs);
+            if (dropCountSinceLastInvocation > 0) {
+                Log.w(TAG, "Lost metrics of " + dropCountSinceLastInvocation + " frames of " + probe.name);
+            }
+        }
+
+        private void startListening() {
+            if (!listening) {
+                listening = true;
+                window.addOnFrameMetricsAvailableListener(this, frameMetricsHandler());
+            }
+        }
+
+        private void stopListening() {
+            if (listening) {
+                listening = false;
+                window.removeOnFrameMetricsAvailableListener(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.videogamesapp;
+
+/**
+ * Lets a caller abort a blocking RAWG request from another thread.
+ * The client registers an action (disconnecting the connection) that runs on cancel,
+ * or immediately if the token was already cancelled.
+ */
+public class CancellationToken {
+    private boolean cancelled;
+    private Runnable onCancel;
+
+    public void cancel() {
+        Runnable action;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            action = onCancel;
+            onCancel = null;
+        }
+        if (action != null) {
+            action.run();
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Sets the action run on cancel, replacing any previous one
+     */
+    void setOnCancel(Runnable action) {
+        boolean runNow;
+        synchronized (this) {
+            runNow = cancelled;
+            onCancel = runNow ? null : action;
+        }
+        if (runNow && action != null) {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.videogamesapp;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+
+/**
+ * Membership of a game in a cached list (home, genre, search), keeping RAWG's ordering.
+ */
+@Entity(tableName = "catalog_entry",
+        primaryKeys = {"listKey", "position"},
+        indices = {@Index("gameId")})
+public class CatalogEntry {
+    @NonNull
+    public String listKey;
+    public int position;
+    public int gameId;
+
+    public CatalogEntry(@NonNull String listKey, int position, int gameId) {
+        this.listKey = listKey;
+        this.position = position;
+        this.gameId = gameId;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.videogamesapp;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Freshness metadata for a cached list, used to decide when it must be revalidated.
+ */
+@Entity(tableName = "catalog_list")
+public class CatalogList {
+    @PrimaryKey
+    @NonNull
+    public String listKey;
+    // When the list was last refreshed from RAWG, in epoch millis
+    public long fetchedAt;
+    // RAWG cursor to the page after the cached ones, null when exhausted
+    public String nextUrl;
+
+    public CatalogList(@NonNull String listKey, long fetchedAt, String nextUrl) {
+        this.listKey = listKey;
+        this.fetchedAt = fetchedAt;
+        this.nextUrl = nextUrl;
+    }
+}
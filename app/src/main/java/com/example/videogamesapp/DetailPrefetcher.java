@@ -0,0 +1,196 @@
+package com.example.videogamesapp;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.SparseArray;
+import android.util.SparseLongArray;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warms the details of the games the user is likely to open next.
+ * List adapters report which game rows are on screen. Once scrolling has settled for
+ * MIN_DWELL_MS, the rows that have stayed visible the longest are the candidates, and the
+ * top MAX_CANDIDATES get /games/{id} fetched into Room at prefetch priority, so the detail
+ * screen opens complete. A prefetch is cancelled as soon as its row leaves the screen or
+ * falls out of the top candidates. No more than BUDGET requests go to the network per
+ * BUDGET_WINDOW_MS, or METERED_BUDGET on metered networks; prefetches answered from Room
+ * or the response cache are free. Must be used from the main thread.
+ */
+public class DetailPrefetcher {
+    private static final String TAG = "DetailPrefetcher";
+
+    // How long the visible rows must stay put before they count as candidates
+    static final long MIN_DWELL_MS = 700;
+    static final int MAX_CANDIDATES = 3;
+    static final long BUDGET_WINDOW_MS = 60_000;
+    static final int BUDGET = 12;
+    static final int METERED_BUDGET = 4;
+
+    private static DetailPrefetcher instance;
+
+    private final GameRepository repository;
+    private final ConnectivityManager connectivity;
+    private final TaskScheduler.Scope scope = TaskScheduler.getInstance().globalScope();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable evaluateRunnable = this::evaluate;
+
+    // When each visible game row appeared, in uptime millis
+    private final SparseLongArray visibleSince = new SparseLongArray();
+    private final SparseArray<TaskScheduler.Task> inFlight = new SparseArray<>();
+    // Games already complete in Room during this process
+    private final IntHashSet warmed = new IntHashSet();
+    // Completion times of the network fetches within the budget window
+    private final ArrayDeque<Long> recentFetches = new ArrayDeque<>();
+
+    public static synchronized DetailPrefetcher getInstance(Context context) {
+        if (instance == null) {
+            instance = new DetailPrefetcher(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private DetailPrefetcher(Context context) {
+        this.repository = GameRepository.getInstance(context);
+        this.connectivity = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+    }
+
+    /**
+     * A row showing the game was attached to the screen
+     */
+    public void onRowShown(int gameId) {
+        if (gameId < 0 || visibleSince.indexOfKey(gameId) >= 0) {
+            return;
+        }
+        visibleSince.put(gameId, SystemClock.uptimeMillis());
+        scheduleEvaluate();
+    }
+
+    /**
+     * A row showing the game left the screen
+     */
+    public void onRowHidden(int gameId) {
+        if (visibleSince.indexOfKey(gameId) < 0) {
+            return;
+        }
+        visibleSince.delete(gameId);
+        cancel(gameId);
+        scheduleEvaluate();
+    }
+
+    /**
+     * Waits for the visible rows to settle, so a fling starts nothing
+     */
+    private void scheduleEvaluate() {
+        mainHandler.removeCallbacks(evaluateRunnable);
+        if (visibleSince.size() > 0) {
+            mainHandler.postDelayed(evaluateRunnable, MIN_DWELL_MS);
+        }
+    }
+
+    private void evaluate() {
+        List<Integer> candidates = rankCandidates();
+        for (int i = inFlight.size() - 1; i >= 0; i--) {
+            if (!candidates.contains(inFlight.keyAt(i))) {
+                cancel(inFlight.keyAt(i));
+            }
+        }
+        for (int gameId : candidates) {
+            if (inFlight.get(gameId) == null && !start(gameId)) {
+                // Out of budget; later scrolls try again
+                return;
+            }
+        }
+    }
+
+    /**
+     * The longest-visible games not warmed yet, longest first
+     */
+    private List<Integer> rankCandidates() {
+        long now = SystemClock.uptimeMillis();
+        List<Integer> candidates = new ArrayList<>(MAX_CANDIDATES);
+        List<Long> dwells = new ArrayList<>(MAX_CANDIDATES);
+        for (int i = 0; i < visibleSince.size(); i++) {
+            int gameId = visibleSince.keyAt(i);
+            long dwell = now - visibleSince.valueAt(i);
+            if (dwell < MIN_DWELL_MS || warmed.contains(gameId)) {
+                continue;
+            }
+            int at = 0;
+            while (at < dwells.size() && dwells.get(at) >= dwell) {
+                at++;
+            }
+            if (at < MAX_CANDIDATES) {
+                candidates.add(at, gameId);
+                dwells.add(at, dwell);
+                if (candidates.size() > MAX_CANDIDATES) {
+                    candidates.remove(MAX_CANDIDATES);
+                    dwells.remove(MAX_CANDIDATES);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private boolean start(int gameId) {
+        long now = SystemClock.uptimeMillis();
+        while (!recentFetches.isEmpty() && now - recentFetches.peekFirst() > BUDGET_WINDOW_MS) {
+            recentFetches.pollFirst();
+        }
+        boolean metered = connectivity != null && connectivity.isActiveNetworkMetered();
+        // Running prefetches may still need the network, so they hold a share of the budget
+        if (recentFetches.size() + inFlight.size() >= (metered ? METERED_BUDGET : BUDGET)) {
+            return false;
+        }
+
+        CancellationToken token = new CancellationToken();
+        TaskScheduler.Task[] task = new TaskScheduler.Task[1];
+        task[0] = scope.io(TaskScheduler.PRIORITY_PREFETCH, token, () -> {
+            boolean complete;
+            boolean fetched;
+            try {
+                fetched = repository.prefetchGame(gameId, token);
+                complete = true;
+            } catch (IOException e) {
+                if (!token.isCancelled()) {
+                    Log.w(TAG, "Prefetching game " + gameId + " failed", e);
+                }
+                // A failed request may still have gone out
+                fetched = !token.isCancelled();
+                complete = false;
+            }
+            boolean warmedGame = complete;
+            boolean usedNetwork = fetched;
+            scope.postToMain(() -> onFinished(gameId, task[0], warmedGame, usedNetwork));
+        });
+        inFlight.put(gameId, task[0]);
+        return true;
+    }
+
+    private void onFinished(int gameId, TaskScheduler.Task task, boolean complete, boolean fetched) {
+        if (inFlight.get(gameId) == task) {
+            inFlight.remove(gameId);
+        }
+        if (fetched) {
+            recentFetches.addLast(SystemClock.uptimeMillis());
+        }
+        if (complete) {
+            warmed.add(gameId);
+        }
+    }
+
+    private void cancel(int gameId) {
+        TaskScheduler.Task task = inFlight.get(gameId);
+        if (task != null) {
+            inFlight.remove(gameId);
+            task.cancel();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.videogamesapp;
+
+import android.content.ClipData;
+import android.content.ClipboardManager;
+import android.content.Context;
+import android.os.Bundle;
+import android.util.Log;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Debug screen showing the app's in-memory performance counters: network calls per
+ * endpoint, list create/bind times and scrolling frames, image caches and startup
+ * timings. Opened by long-pressing the "Featured Games" title in debug builds. The same
+ * text is available to code through report().
+ */
+public class DiagnosticsActivity extends AppCompatActivity {
+    private static final String TAG = "Diagnostics";
+
+    private TextView reportText;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_diagnostics);
+        setTitle("Diagnostics");
+
+        reportText = findViewById(R.id.reportText);
+        Button refreshButton = findViewById(R.id.refreshButton);
+        Button copyButton = findViewById(R.id.copyButton);
+        Button resetButton = findViewById(R.id.resetButton);
+
+        refreshButton.setOnClickListener(view -> refresh());
+        copyButton.setOnClickListener(view -> copyReport());
+        resetButton.setOnClickListener(view -> {
+            NetworkMetrics.getInstance().reset();
+            BindProfiler.reset();
+            SearchController.reset();
+            refresh();
+        });
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        refresh();
+    }
+
+    private void refresh() {
+        reportText.setText(report());
+    }
+
+    /**
+     * Copies the report for pasting into a bug report, and writes it to Logcat
+     */
+    private void copyReport() {
+        String report = report();
+        Log.i(TAG, report);
+        ClipboardManager clipboard = (ClipboardManager) getSystemService(Context.CLIPBOARD_SERVICE);
+        clipboard.setPrimaryClip(ClipData.newPlainText("Diagnostics", report));
+        Toast.makeText(this, "Report copied", Toast.LENGTH_SHORT).show();
+    }
+
+    /**
+     * @return Every counter as plain text, in a stable order so two reports can be diffed
+     */
+    public static String report() {
+        StringBuilder out = new StringBuilder();
+        out.append("== Network ==\n").append(NetworkMetrics.getInstance().dump());
+
+        out.append("\n== Lists (us) ==\n").append(BindProfiler.report());
+
+        out.append("\n== Search ==\n").append(SearchController.report());
+
+        out.append("\n== Images ==\n");
+        ImageCache imageCache = ImageCache.getInstance();
+        out.append(imageCache != null ? imageCache.toString() : "Not installed").append('\n');
+
+        out.append("\n== Startup (ms from process start) ==\n");
+        Map<String, Long> timings = new TreeMap<>(StartupOrchestrator.getInstance().getTimings());
+        if (timings.isEmpty()) {
+            out.append("Nothing shown yet\n");
+        }
+        for (Map.Entry<String, Long> timing : timings.entrySet()) {
+            out.append(timing.getKey()).append('=').append(timing.getValue()).append('\n');
+        }
+        return out.toString();
+    }
+}
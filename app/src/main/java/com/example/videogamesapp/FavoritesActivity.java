@@ -1,29 +1,18 @@
 package com.example.videogamesapp;
 
 import android.os.Bundle;
-import android.support.annotation.Nullable;
 import android.util.Log;
 
-import com.google.firebase.firestore.EventListener;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.FirebaseFirestoreException;
 
-import org.json.JSONObject;
-
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Activity that displays the user's favorite games.
@@ -32,7 +21,20 @@ import java.util.concurrent.Executors;
 public class FavoritesActivity extends AppCompatActivity {
     // UI Components
     RecyclerView favoritesRecyclerView;
-    FavoritesAdapter favoritesAdapter;
+    GameListAdapter favoritesAdapter;
+
+    // Resolves liked IDs from Room and RAWG
+    // Its hydrations are bound to this Activity's lifecycle
+    private FavoritesHydrator hydrator;
+
+    // Liked IDs of the last snapshot, in Firestore order
+    private int[] currentIds = new int[0];
+    private Set<Integer> currentIdSet = new HashSet<>();
+    // Games resolved so far, keyed by game ID
+    private final Map<Integer, NewGame> resolvedGames = new HashMap<>();
+    // Hydrated games arriving within one frame are published together
+    private final Runnable publishRunnable = this::publishList;
+    private boolean publishScheduled;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -43,108 +45,100 @@ public class FavoritesActivity extends AppCompatActivity {
         // Initialize RecyclerView
         favoritesRecyclerView = findViewById(R.id.favoritesRecyclerView);
         favoritesRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        favoritesRecyclerView.setRecycledViewPool(GameViewHolder.sharedPool(this));
+        hydrator = new FavoritesHydrator(this);
+        favoritesAdapter = new GameListAdapter(FavoritesActivity.this);
+        favoritesRecyclerView.setAdapter(favoritesAdapter);
 
-        // Get references to Firebase services
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        String userId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-
-        // Set up real-time listener for favorite games changes
-        db.collection("users").document(userId)
-                .addSnapshotListener(new EventListener<DocumentSnapshot>() {
-                    @Override
-                    public void onEvent(@Nullable DocumentSnapshot snapshot,
-                                        @Nullable FirebaseFirestoreException e) {
-                        if (e != null) {
-                            Log.w("FavoritesActivity", "Listen failed.", e);
-                            return;
-                        }
-
-                        if (snapshot != null && snapshot.exists()) {
-                            // Get the list of liked game IDs and fetch their details
-                            List<Long> likedGameIds = (List<Long>) snapshot.get("likedGames");
-                            fetchLikedGames(likedGameIds);
-                        } else {
-                            Log.d("FavoritesActivity", "Current data: null");
-                        }
-                    }
-                });
+        // The shared user document listener replays the last snapshot and pushes changes
+        UserStateStore.getInstance(this).observe(this, this::fetchLikedGames);
     }
 
     /**
-     * Fetches detailed information for each liked game from the RAWG API.
-     * Uses a thread pool to fetch multiple games concurrently.
-     * 
-     * @param likedGameIds List of game IDs that the user has liked
+     * Applies a new likedGames snapshot incrementally.
+     * Only IDs that were not in the previous snapshot are hydrated; removed IDs are dropped
+     * from the list locally, so an unlike costs no RAWG request and no full rebind.
+     *
+     * @param likedGameIds List of game IDs that the user has liked, in Firestore order
      */
     private void fetchLikedGames(List<Long> likedGameIds) {
-        // Handle case when there are no liked games
-        if (likedGameIds == null || likedGameIds.isEmpty()) {
-            if (favoritesAdapter == null) {
-                favoritesAdapter = new FavoritesAdapter(FavoritesActivity.this, new ArrayList<>());
-                favoritesRecyclerView.setAdapter(favoritesAdapter);
-            } else {
-                favoritesAdapter.setLikedGames(new ArrayList<>());
-                favoritesAdapter.notifyDataSetChanged();
+        int size = likedGameIds != null ? likedGameIds.size() : 0;
+        int[] newIds = new int[size];
+        Set<Integer> newIdSet = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            newIds[i] = likedGameIds.get(i).intValue();
+            newIdSet.add(newIds[i]);
+        }
+
+        // Delta against the previous snapshot
+        List<Integer> added = new ArrayList<>();
+        for (int id : newIds) {
+            if (!currentIdSet.contains(id)) {
+                added.add(id);
             }
-            return;
         }
+        resolvedGames.keySet().retainAll(newIdSet);
+
+        currentIds = newIds;
+        currentIdSet = newIdSet;
+        publishList();
 
-        final List<NewGame> likedGames = new ArrayList<>();
-        // Create thread pool with maximum of 5 threads to avoid overwhelming the API
-        ExecutorService executor = Executors.newFixedThreadPool(Math.min(likedGameIds.size(), 5));
-        // Use CountDownLatch to track when all API calls are complete
-        CountDownLatch latch = new CountDownLatch(likedGameIds.size());
-
-        // Fetch details for each game ID in parallel
-        for (Long gameId : likedGameIds) {
-            executor.execute(() -> {
-                try {
-                    // Make API call to RAWG
-                    URL url = new URL("https://api.rawg.io/api/games/" + gameId + "?key=" + BuildConfig.RAWG_API_KEY);
-                    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                    connection.setRequestMethod("GET");
-                    
-                    // Read API response
-                    BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                    StringBuilder builder = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        builder.append(line);
-                    }
-                    JSONObject response = new JSONObject(builder.toString());
-
-                    // Extract game details from response
-                    String name = response.getString("name");
-                    String imageUrl = response.optString("background_image", "");
-                    String description = response.optString("description", "");
-
-                    // Thread-safe addition to the liked games list
-                    synchronized (likedGames) {
-                        likedGames.add(new NewGame(gameId.intValue(), name, imageUrl, description));
-                    }
-                } catch (Exception e) {
-                    Log.e("FavoritesActivity", "Error fetching game details for ID " + gameId + ": " + e.getMessage(), e);
-                } finally {
-                    latch.countDown();
+        if (!added.isEmpty()) {
+            int[] addedIds = new int[added.size()];
+            for (int i = 0; i < addedIds.length; i++) {
+                addedIds[i] = added.get(i);
+            }
+            hydrateAdded(addedIds);
+        }
+    }
+
+    /**
+     * Resolves newly liked games; results for IDs unliked in the meantime are ignored
+     */
+    private void hydrateAdded(int[] addedIds) {
+        hydrator.hydrate(addedIds, new FavoritesHydrator.Listener() {
+            @Override
+            public void onGameHydrated(NewGame game) {
+                if (currentIdSet.contains(game.getGameId())) {
+                    resolvedGames.put(game.getGameId(), game);
+                    schedulePublish();
                 }
-            });
+            }
+
+            @Override
+            public void onHydrationFinished() {
+                Log.d("FavoritesActivity", "Resolved " + addedIds.length + " newly liked games");
+            }
+        });
+    }
+
+    /**
+     * Publishes on the next frame, so a burst of hydrated games costs one list copy and
+     * one diff instead of one per game
+     */
+    private void schedulePublish() {
+        if (!publishScheduled) {
+            publishScheduled = true;
+            favoritesRecyclerView.postOnAnimation(publishRunnable);
         }
+    }
 
-        // Shut down the executor after submitting all tasks
-        executor.shutdown();
-        
-        // Wait for all API calls to complete and update UI
-        new Thread(() -> {
-            try {
-                latch.await();
-                runOnUiThread(() -> {
-                    favoritesAdapter = new FavoritesAdapter(FavoritesActivity.this, likedGames);
-                    favoritesRecyclerView.setAdapter(favoritesAdapter);
-                });
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                Log.e("FavoritesActivity", "Interrupted while waiting for game details fetch to complete", e);
+    /**
+     * Submits the resolved games in Firestore order; DiffUtil animates the difference
+     */
+    private void publishList() {
+        if (publishScheduled) {
+            publishScheduled = false;
+            favoritesRecyclerView.removeCallbacks(publishRunnable);
+        }
+        List<NewGame> games = new ArrayList<>(resolvedGames.size());
+        for (int id : currentIds) {
+            NewGame game = resolvedGames.get(id);
+            if (game != null) {
+                games.add(game);
             }
-        }).start();
+        }
+        // Only the rows that changed are rebound
+        favoritesAdapter.submitList(games);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+package com.example.videogamesapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves liked game IDs into displayable games.
+ * IDs are looked up in Room with one loadAllByIds query; only the misses go to RAWG, on the
+ * bounded TaskScheduler I/O pool of the owning screen. Every game is delivered on the
+ * main thread as soon as it is resolved, in completion order; the screen orders them by
+ * its current liked IDs. Hydrations stop when the screen is destroyed.
+ */
+public class FavoritesHydrator {
+    private static final String TAG = "FavoritesHydrator";
+
+    private final GameRepository repository;
+    private final TaskScheduler.Scope scope;
+
+    /**
+     * Receives hydration results on the main thread
+     */
+    public interface Listener {
+        /**
+         * @param game The resolved game; may be delivered twice when a cached row without
+         *             description is later replaced by the full record
+         */
+        void onGameHydrated(NewGame game);
+
+        void onHydrationFinished();
+    }
+
+    /**
+     * @param context The screen's context; hydrations stop when its lifecycle is destroyed
+     */
+    public FavoritesHydrator(Context context) {
+        this.repository = GameRepository.getInstance(context);
+        this.scope = TaskScheduler.getInstance().scopeFor(context);
+    }
+
+    /**
+     * Starts resolving the given IDs.
+     * @param gameIds Liked game IDs to resolve
+     * @param listener Receives games as they are resolved
+     */
+    public void hydrate(int[] gameIds, Listener listener) {
+        if (gameIds.length == 0) {
+            scope.postToMain(listener::onHydrationFinished);
+            return;
+        }
+
+        // The local lookup decides what appears first, ahead of any queued fetch
+        scope.io(TaskScheduler.PRIORITY_IMMEDIATE, () -> {
+            Map<Integer, Game> cached = new HashMap<>();
+            List<Game> rows = repository.loadCachedGames(gameIds);
+            for (Game row : rows) {
+                cached.put(row.gameId, row);
+            }
+
+            AtomicInteger remaining = new AtomicInteger(gameIds.length);
+            for (int gameId : gameIds) {
+                Game row = cached.get(gameId);
+                if (row != null) {
+                    // Show what we have right away
+                    deliver(listener, row.toNewGame());
+                    if (row.description != null && !row.description.isEmpty()) {
+                        finishOne(listener, remaining);
+                        continue;
+                    }
+                }
+                // Missing or list-only rows need the full record
+                scope.io(TaskScheduler.PRIORITY_DEFAULT, () -> {
+                    try {
+                        deliver(listener, repository.fetchGame(gameId));
+                    } catch (Exception e) {
+                        Log.e(TAG, "Error fetching game details for ID " + gameId, e);
+                    } finally {
+                        finishOne(listener, remaining);
+                    }
+                });
+            }
+        });
+    }
+
+    private void deliver(Listener listener, NewGame game) {
+        scope.postToMain(() -> listener.onGameHydrated(game));
+    }
+
+    private void finishOne(Listener listener, AtomicInteger remaining) {
+        if (remaining.decrementAndGet() == 0) {
+            scope.postToMain(listener::onHydrationFinished);
+        }
+    }
+}
@@ -1,123 +1,112 @@
 package com.example.videogamesapp;
 
 import android.app.Activity;
-import android.content.Context;
 import android.content.Intent;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
-import org.json.JSONArray;
-import org.json.JSONObject;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import android.widget.CheckBox;
 import android.widget.ImageView;
 import android.widget.TextView;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FieldValue;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.squareup.picasso.Picasso;
-
 /**
  * Adapter class for handling the display and interaction of featured games in a RecyclerView.
  * This adapter manages game data fetching, caching, and user interactions like favoriting games.
  */
-public class FeaturedGamesAdapter extends RecyclerView.Adapter<FeaturedGamesAdapter.ViewHolder> {
-    // List to store featured game data
-    private List<FeaturedGame> featuredGames = new ArrayList<>();
-    private Activity activity;
-    // List to track games liked by the user
-    private List<Integer> likedGames;
+public class FeaturedGamesAdapter extends ListAdapter<FeaturedGame, FeaturedGamesAdapter.ViewHolder>
+        implements ImagePrefetcher.UrlProvider {
+    /**
+     * Compares featured games by game ID, then by the fields a card shows
+     */
+    static final DiffUtil.ItemCallback<FeaturedGame> DIFF_CALLBACK = new DiffUtil.ItemCallback<FeaturedGame>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull FeaturedGame oldItem, @NonNull FeaturedGame newItem) {
+            return oldItem.getGameId() == newItem.getGameId();
+        }
 
-    // Constants for caching
-    private static final String CACHE_KEY = "featuredGames";
-    private static final String GAMES_CACHE = "gamesCache";
+        @Override
+        public boolean areContentsTheSame(@NonNull FeaturedGame oldItem, @NonNull FeaturedGame newItem) {
+            return Objects.equals(oldItem.getGameName(), newItem.getGameName())
+                    && Objects.equals(oldItem.getImageUrl(), newItem.getImageUrl());
+        }
+    };
+
+    private Activity activity;
+    // Liked game IDs shared by all screens
+    private final LikedGameSet likedGames = LikedGameSet.getInstance();
+    private final LikedGameSet.Listener likedListener = (gameId, liked) -> {
+        // Rebind only the like button of the affected card
+        List<FeaturedGame> featuredGames = getCurrentList();
+        for (int i = 0; i < featuredGames.size(); i++) {
+            if (featuredGames.get(i).getGameId() == gameId) {
+                notifyItemChanged(i, GameViewHolder.PAYLOAD_LIKED);
+            }
+        }
+    };
+    // Loads the covers about to scroll into view
+    private ImagePrefetcher imagePrefetcher;
+    // Times creates and binds, and the frames drawn while the list scrolls
+    private final BindProfiler.Probe bindProbe;
+    private BindProfiler.FrameTracker frameTracker;
 
     /**
-     * Constructor initializes the adapter with necessary context and user's liked games
+     * Constructor initializes the adapter and starts loading the featured games
      * @param activity Activity context for UI operations
-     * @param likedGames List of game IDs that the user has liked
      */
-    public FeaturedGamesAdapter(Activity activity, List<Integer> likedGames) {
+    public FeaturedGamesAdapter(Activity activity) {
+        // Diff on the shared CPU pool instead of the main thread
+        super(new AsyncDifferConfig.Builder<>(DIFF_CALLBACK)
+                .setBackgroundThreadExecutor(TaskScheduler.getInstance().cpuExecutor())
+                .build());
         this.activity = activity;
-        this.likedGames = likedGames;
-        loadFeaturedGamesFromCache();
+        this.bindProbe = BindProfiler.probe(activity, "FeaturedGamesAdapter");
+        setHasStableIds(true);
         fetchFeaturedGames();
     }
 
-    /**
-     * Loads previously cached featured games from SharedPreferences
-     * This provides immediate content while fresh data is being fetched
-     */
-    private void loadFeaturedGamesFromCache() {
-        String json = activity.getSharedPreferences(GAMES_CACHE, Context.MODE_PRIVATE).getString(CACHE_KEY, null);
-        if (json != null) {
-            try {
-                JSONArray gamesArray = new JSONArray(json);
-                for (int i = 0; i < gamesArray.length(); i++) {
-                    JSONObject game = gamesArray.getJSONObject(i);
-                    int gameId = game.getInt("game_id");
-                    String imageUrl = game.optString("image", "");
-                    featuredGames.add(new FeaturedGame(gameId, imageUrl));
-                }
-            } catch (Exception e) {
-                Log.e("FeaturedGamesAdapter", "Error loading games from cache", e);
-            }
-        }
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        likedGames.addListener(likedListener);
+        imagePrefetcher = ImagePrefetcher.attach(recyclerView, this);
+        frameTracker = bindProbe.trackFrames(activity, recyclerView);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        likedGames.removeListener(likedListener);
+        imagePrefetcher.detach(recyclerView);
+        imagePrefetcher = null;
+        frameTracker.detach(recyclerView);
+        frameTracker = null;
     }
 
     /**
-     * Fetches featured games from the RAWG API
-     * Runs in a background thread to avoid blocking the UI
+     * Loads featured games through the GameRepository
+     * Cached rows are shown first and replaced once RAWG has been revalidated; only the
+     * cards that actually changed are rebound
      */
     private void fetchFeaturedGames() {
-        new Thread(() -> {
-            try {
-                String urlString = "https://api.rawg.io/api/games?key=" + BuildConfig.RAWG_API_KEY + "&page_size=20";
-                URL url = new URL(urlString);
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setRequestMethod("GET");
-                connection.connect();
-
-                // Read the API response
-                BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                StringBuilder builder = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    builder.append(line);
-                }
-
-                // Parse JSON response and create FeaturedGame objects
-                JSONObject response = new JSONObject(builder.toString());
-                JSONArray gamesArray = response.getJSONArray("results");
-                for (int i = 0; i < gamesArray.length(); i++) {
-                    JSONObject game = gamesArray.getJSONObject(i);
-                    int gameId = game.getInt("id");
-                    String name = game.getString("name");
-                    String imageUrl = game.optString("background_image", "");
-                    FeaturedGame featuredGame = new FeaturedGame(gameId, name, imageUrl);
-                    featuredGames.add(featuredGame);
-                }
-
-                // Pre-fetch images for smoother scrolling
-                for (FeaturedGame featuredGame : featuredGames) {
-                    Picasso.get().load(featuredGame.getImageUrl()).fetch();
-                }
-
-                // Update UI on the main thread
-                activity.runOnUiThread(() -> notifyDataSetChanged());
-            } catch (Exception e) {
-                Log.e("FeaturedGamesAdapter", "Error fetching games from RAWG", e);
+        GameRepository.GamesCallback callback = (games, fromNetwork) -> {
+            List<FeaturedGame> updated = new ArrayList<>(games.size());
+            for (NewGame game : games) {
+                updated.add(new FeaturedGame(game.getGameId(), game.getGameName(), game.getImageUrl()));
             }
-        }).start();
+            submitList(updated);
+        };
+        // Usually already loading, or loaded, since process start
+        if (!StartupOrchestrator.getInstance().takeFeatured(activity, callback)) {
+            TaskScheduler.Scope scope = TaskScheduler.getInstance().scopeFor(activity);
+            GameRepository.getInstance(activity).loadFeaturedGames(scope, callback);
+        }
     }
 
     /**
@@ -125,34 +114,11 @@ public class FeaturedGamesAdapter extends RecyclerView.Adapter<FeaturedGamesAdap
      */
     @Override
     public ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        long start = bindProbe.start();
         View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_featured_game, parent, false);
-        return new ViewHolder(view);
-    }
-
-    /**
-     * Adds a game to the user's favorites in Firestore
-     * @param gameId ID of the game to be added to favorites
-     */
-    private void addGameToFavorites(int gameId) {
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        String userId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-        db.collection("users").document(userId)
-                .update("likedGames", FieldValue.arrayUnion(gameId))
-                .addOnSuccessListener(aVoid -> Log.d("Firestore", "Game added to favorites"))
-                .addOnFailureListener(e -> Log.e("Firestore", "Error adding game to favorites", e));
-    }
-
-    /**
-     * Removes a game from the user's favorites in Firestore
-     * @param gameId ID of the game to be removed from favorites
-     */
-    private void removeGameFromFavorites(int gameId) {
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        String userId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-        db.collection("users").document(userId)
-                .update("likedGames", FieldValue.arrayRemove(gameId))
-                .addOnSuccessListener(aVoid -> Log.d("Firestore", "Game removed from favorites"))
-                .addOnFailureListener(e -> Log.e("Firestore", "Error removing game from favorites", e));
+        ViewHolder holder = new ViewHolder(view);
+        bindProbe.endCreate(holder, viewType, start);
+        return holder;
     }
 
     /**
@@ -160,25 +126,11 @@ public class FeaturedGamesAdapter extends RecyclerView.Adapter<FeaturedGamesAdap
      */
     @Override
     public void onBindViewHolder(FeaturedGamesAdapter.ViewHolder holder, int position) {
-        FeaturedGame featuredGame = featuredGames.get(position);
+        FeaturedGame featuredGame = getItem(position);
         holder.tvGameId.setText(featuredGame.getGameName());
-        Picasso.get().load(featuredGame.getImageUrl()).resize(100, 100).into(holder.ivGameImage);
-
-        // Reset the CheckBox listener to prevent unwanted triggers
-        holder.btnLike.setOnCheckedChangeListener(null);
+        GameImages.loadThumbnail(holder.ivGameImage, featuredGame.getImageUrl());
 
-        // Set the initial state of the like button
-        boolean isLiked = likedGames.contains(featuredGame.getGameId());
-        holder.btnLike.setChecked(isLiked);
-
-        // Set up the like button listener
-        holder.btnLike.setOnCheckedChangeListener((buttonView, isChecked) -> {
-            if (isChecked) {
-                addGameToFavorites(featuredGame.getGameId());
-            } else {
-                removeGameFromFavorites(featuredGame.getGameId());
-            }
-        });
+        bindLikeState(holder, featuredGame.getGameId());
 
         // Set up click listener to open game details
         holder.itemView.setOnClickListener(v -> {
@@ -192,8 +144,49 @@ public class FeaturedGamesAdapter extends RecyclerView.Adapter<FeaturedGamesAdap
     }
 
     @Override
-    public int getItemCount() {
-        return featuredGames.size();
+    public void onBindViewHolder(FeaturedGamesAdapter.ViewHolder holder, int position, List<Object> payloads) {
+        long start = bindProbe.start();
+        try {
+            if (payloads.contains(GameViewHolder.PAYLOAD_LIKED)) {
+                bindLikeState(holder, getItem(position).getGameId());
+                return;
+            }
+            onBindViewHolder(holder, position);
+        } finally {
+            bindProbe.endBind(holder, payloads, start);
+        }
+    }
+
+    /**
+     * Shows the liked state of a game and wires the like button
+     */
+    private void bindLikeState(FeaturedGamesAdapter.ViewHolder holder, int gameId) {
+        // Detach the listener first so restoring the state does not write to Firestore
+        holder.btnLike.setOnCheckedChangeListener(null);
+        holder.btnLike.setChecked(likedGames.contains(gameId));
+        // Applied at once and written to Firestore in the background
+        holder.btnLike.setOnCheckedChangeListener(
+                (buttonView, isChecked) -> UserStateStore.getInstance(activity).setLiked(gameId, isChecked));
+    }
+
+    @Override
+    public void onViewAttachedToWindow(ViewHolder holder) {
+        DetailPrefetcher.getInstance(activity).onRowShown((int) holder.getItemId());
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(ViewHolder holder) {
+        DetailPrefetcher.getInstance(activity).onRowHidden((int) holder.getItemId());
+    }
+
+    @Override
+    public String imageUrlAt(int position) {
+        return getItem(position).getImageUrl();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getGameId();
     }
 
     /**
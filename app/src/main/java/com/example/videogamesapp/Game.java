@@ -10,6 +10,8 @@ public class Game {
     public String gameName;
     public String imageUrl;
     public String description;
+    // When this row was last written from a RAWG response, in epoch millis
+    public long fetchedAt;
 
     public Game(int gameId, String gameName, String imageUrl, String description) {
         this.gameId = gameId;
@@ -18,4 +20,16 @@ public class Game {
         this.description = description;
     }
 
-}
\ No newline at end of file
+    /**
+     * Creates a row from a game parsed off the network
+     */
+    public static Game fromNewGame(NewGame newGame, long fetchedAt) {
+        Game game = new Game(newGame.getGameId(), newGame.getGameName(), newGame.getImageUrl(), newGame.getDescription());
+        game.fetchedAt = fetchedAt;
+        return game;
+    }
+
+    public NewGame toNewGame() {
+        return new NewGame(gameId, gameName, imageUrl, description != null ? description : "");
+    }
+}
@@ -17,4 +17,42 @@ public interface GameDao {
 
     @Query("DELETE FROM game")
     void deleteAll();
-}
\ No newline at end of file
+
+    @Query("SELECT game.* FROM catalog_entry INNER JOIN game ON game.gameId = catalog_entry.gameId "
+            + "WHERE catalog_entry.listKey = :listKey ORDER BY catalog_entry.position")
+    List<Game> loadList(String listKey);
+
+    @Query("SELECT game.* FROM catalog_entry INNER JOIN game ON game.gameId = catalog_entry.gameId "
+            + "WHERE catalog_entry.listKey = :listKey AND catalog_entry.position >= :offset "
+            + "ORDER BY catalog_entry.position LIMIT :limit")
+    List<Game> loadListRange(String listKey, int offset, int limit);
+
+    @Query("SELECT COUNT(*) FROM catalog_entry WHERE listKey = :listKey")
+    int countEntries(String listKey);
+
+    /**
+     * Full-text search over cached games. Titles starting with the query rank first,
+     * then titles containing it, then matches found only in the description.
+     * @param match FTS4 match expression, e.g. "half* lif*"
+     * @param prefix LIKE pattern for titles starting with the query
+     * @param contains LIKE pattern for titles containing the query
+     */
+    @Query("SELECT game.* FROM game INNER JOIN game_fts ON game.gameId = game_fts.rowid "
+            + "WHERE game_fts MATCH :match "
+            + "ORDER BY CASE WHEN game.gameName LIKE :prefix THEN 0 "
+            + "WHEN game.gameName LIKE :contains THEN 1 ELSE 2 END, game.gameName "
+            + "LIMIT :limit")
+    List<Game> search(String match, String prefix, String contains, int limit);
+
+    @Query("SELECT * FROM catalog_list WHERE listKey = :listKey")
+    CatalogList loadListMeta(String listKey);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertEntries(CatalogEntry... entries);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertListMeta(CatalogList list);
+
+    @Query("DELETE FROM catalog_entry WHERE listKey = :listKey")
+    void deleteEntries(String listKey);
+}
@@ -2,109 +2,136 @@ package com.example.videogamesapp;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.util.Log;
+import android.text.Html;
 import android.widget.CheckBox;
 import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FieldValue;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.squareup.picasso.Picasso;
+import androidx.core.widget.ContentLoadingProgressBar;
 
-import java.util.ArrayList;
-import java.util.List;
 
+/**
+ * Shows a game progressively: the name and cover passed by the list are drawn at once,
+ * then the cached Room row and finally the full RAWG record fill in what is missing.
+ * The spinner only appears if the description is still unknown after a short delay, so a
+ * game whose details were already cached never shows one.
+ */
 public class GameDetailsActivity extends AppCompatActivity {
 
     private ImageView gameImage;
     private TextView gameTitle;
     private TextView gameDescription;
+    private ContentLoadingProgressBar descriptionProgress;
     private CheckBox favoriteToggle;
-    private FirebaseFirestore db;
     private int gameId;
+    private String shownImageUrl;
+    private boolean hasDescription;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_game_details);
+        StartupTrace.begin(StartupTrace.DETAILS_CREATE);
+        try {
+            super.onCreate(savedInstanceState);
+            setContentView(R.layout.activity_game_details);
 
 
-        db = FirebaseFirestore.getInstance();
+            gameImage = findViewById(R.id.gameImage);
+            gameTitle = findViewById(R.id.gameTitle);
+            gameDescription = findViewById(R.id.gameDescription);
+            descriptionProgress = findViewById(R.id.descriptionProgress);
+            favoriteToggle = findViewById(R.id.favoriteCheckbox);
 
 
-        gameImage = findViewById(R.id.gameImage);
-        gameTitle = findViewById(R.id.gameTitle);
-        gameDescription = findViewById(R.id.gameDescription);
-        favoriteToggle = findViewById(R.id.favoriteCheckbox);
+            Intent intent = getIntent();
+            if (intent != null) {
+                gameId = intent.getIntExtra("GAME_ID", -1);
+                String gameName = intent.getStringExtra("GAME_NAME");
+                String imageUrl = intent.getStringExtra("GAME_IMAGE_URL");
+                String description = intent.getStringExtra("GAME_DESCRIPTION");
 
 
-        Intent intent = getIntent();
-        if (intent != null) {
-            gameId = intent.getIntExtra("GAME_ID", -1);
-            String gameName = intent.getStringExtra("GAME_NAME");
-            String imageUrl = intent.getStringExtra("GAME_IMAGE_URL");
-            String description = intent.getStringExtra("GAME_DESCRIPTION");
-
-
-            if (getSupportActionBar() != null) {
-                getSupportActionBar().setTitle(gameName);
-            }
-
-            gameTitle.setText(gameName);
-            gameDescription.setText(description);
-            if (imageUrl != null && !imageUrl.isEmpty()) {
-                Picasso.get().load(imageUrl).into(gameImage);
-            } else {
-
+                showGame(new NewGame(gameId, gameName, imageUrl, description != null ? description : ""));
+                checkIfGameIsFavorite();
+                loadGameDetails();
             }
+        } finally {
+            StartupTrace.end();
+        }
+    }
 
-
-            checkIfGameIsFavorite(gameId);
+    /**
+     * Fills in the cached and then the full record, without redrawing what is already shown
+     */
+    private void loadGameDetails() {
+        if (gameId == -1) {
+            return;
+        }
+        if (!hasDescription) {
+            descriptionProgress.show();
         }
+        TaskScheduler.Scope scope = TaskScheduler.getInstance().scopeFor(this);
+        GameRepository.getInstance(this).loadGameDetails(scope, gameId, new GameRepository.GameCallback() {
+            @Override
+            public void onGameLoaded(NewGame game, boolean complete) {
+                showGame(game);
+                if (complete || hasDescription) {
+                    descriptionProgress.hide();
+                }
+            }
 
-        favoriteToggle.setOnCheckedChangeListener((buttonView, isChecked) -> {
-            if (isChecked) {
-                addGameToFavorites(gameId);
-            } else {
-                removeGameFromFavorites(gameId);
+            @Override
+            public void onGameFailed(Exception e) {
+                descriptionProgress.hide();
+                if (!hasDescription) {
+                    gameDescription.setText("Description not available.");
+                }
             }
         });
     }
 
-
-    private void checkIfGameIsFavorite(int gameId) {
-        String userId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        db.collection("users").document(userId).get().addOnSuccessListener(documentSnapshot -> {
-
-            List<Long> likedGamesLong = (List<Long>) documentSnapshot.get("likedGames");
-
-            List<Integer> likedGamesInt = new ArrayList<>();
-            if (likedGamesLong != null) {
-                for (Long id : likedGamesLong) {
-                    likedGamesInt.add(id.intValue());
-                }
+    private void showGame(NewGame game) {
+        String gameName = game.getGameName();
+        if (gameName != null && !gameName.isEmpty()) {
+            if (getSupportActionBar() != null) {
+                getSupportActionBar().setTitle(gameName);
             }
-
-            favoriteToggle.setChecked(likedGamesInt.contains(gameId));
-        }).addOnFailureListener(e -> Log.e("GameDetailsActivity", "Error fetching favorite games", e));
+            gameTitle.setText(gameName);
+        }
+        // RAWG descriptions are HTML
+        String description = game.getDescription();
+        if (!description.isEmpty()) {
+            gameDescription.setText(Html.fromHtml(description, Html.FROM_HTML_MODE_COMPACT));
+            hasDescription = true;
+        } else if (!hasDescription) {
+            gameDescription.setText("");
+        }
+        String imageUrl = game.getImageUrl() != null ? game.getImageUrl() : "";
+        if (shownImageUrl == null || (!imageUrl.isEmpty() && !imageUrl.equals(shownImageUrl))) {
+            GameImages.loadHero(gameImage, imageUrl);
+            shownImageUrl = imageUrl;
+        }
     }
 
 
-    private void addGameToFavorites(int gameId) {
-        String userId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-        db.collection("users").document(userId).update("likedGames", FieldValue.arrayUnion(gameId))
-                .addOnSuccessListener(aVoid -> Toast.makeText(GameDetailsActivity.this, "Added to favorites", Toast.LENGTH_SHORT).show())
-                .addOnFailureListener(e -> Toast.makeText(GameDetailsActivity.this, "Failed to add to favorites", Toast.LENGTH_SHORT).show());
+    /**
+     * Keeps the toggle in sync with the shared user document listener
+     */
+    private void checkIfGameIsFavorite() {
+        showFavoriteState();
+        UserStateStore.getInstance(this).observe(this, likedGames -> showFavoriteState());
     }
 
-    private void removeGameFromFavorites(int gameId) {
-        String userId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-        db.collection("users").document(userId).update("likedGames", FieldValue.arrayRemove(gameId))
-                .addOnSuccessListener(aVoid -> Toast.makeText(GameDetailsActivity.this, "Removed from favorites", Toast.LENGTH_SHORT).show())
-                .addOnFailureListener(e -> Toast.makeText(GameDetailsActivity.this, "Failed to remove from favorites", Toast.LENGTH_SHORT).show());
+    private void showFavoriteState() {
+        // Detach the listener first so restoring the state does not write to Firestore
+        favoriteToggle.setOnCheckedChangeListener(null);
+        favoriteToggle.setChecked(LikedGameSet.getInstance().contains(gameId));
+        favoriteToggle.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            // Applied at once and written to Firestore in the background
+            UserStateStore.getInstance(this).setLiked(gameId, isChecked);
+            Toast.makeText(GameDetailsActivity.this, isChecked ? "Added to favorites" : "Removed from favorites",
+                    Toast.LENGTH_SHORT).show();
+        });
     }
 }
@@ -0,0 +1,16 @@
+package com.example.videogamesapp;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+/**
+ * Full-text index over the cached games' names and descriptions.
+ * Declared as an external-content table of Game, so Room keeps it in sync with every
+ * write to the game table through triggers; its rowid is the game ID.
+ */
+@Fts4(contentEntity = Game.class)
+@Entity(tableName = "game_fts")
+public class GameFts {
+    public String gameName;
+    public String description;
+}
@@ -0,0 +1,100 @@
+package com.example.videogamesapp;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.widget.ImageView;
+
+import com.squareup.picasso.Picasso;
+import com.squareup.picasso.RequestCreator;
+
+/**
+ * Loads RAWG cover images at the size they are displayed.
+ * RAWG serves pre-scaled variants of every background_image from its media CDN, so the
+ * URL is rewritten to the smallest variant covering the view (crop/600/400 for list
+ * thumbnails) instead of downloading the 1920px+ original. Picasso then decodes with
+ * inSampleSize straight to the view's pixel size, never upscaling; thumbnails use RGB_565,
+ * which halves their memory since covers have no alpha.
+ */
+public final class GameImages {
+    private static final String MEDIA_PREFIX = "https://media.rawg.io/media/";
+    // Fixed-size variants offered by the RAWG media CDN
+    private static final int CROP_WIDTH = 600;
+    private static final int CROP_HEIGHT = 400;
+    private static final int[] RESIZE_WIDTHS = {640, 1280};
+
+    private GameImages() {
+    }
+
+    /**
+     * Loads a list thumbnail sized by the game_thumbnail dimensions
+     */
+    public static void loadThumbnail(ImageView view, String imageUrl) {
+        thumbnailRequest(view.getResources(), imageUrl).into(view);
+    }
+
+    /**
+     * The request loadThumbnail() makes, so a prefetch fills the same memory cache entry
+     */
+    public static RequestCreator thumbnailRequest(Resources resources, String imageUrl) {
+        int width = resources.getDimensionPixelSize(R.dimen.game_thumbnail_width);
+        int height = resources.getDimensionPixelSize(R.dimen.game_thumbnail_height);
+        return thumbnailRequest(imageUrl, width, height);
+    }
+
+    /**
+     * Request for a thumbnail of the given pixel size, e.g. for prefetching
+     */
+    public static RequestCreator thumbnailRequest(String imageUrl, int width, int height) {
+        RequestCreator request = Picasso.get().load(orNull(sizedUrl(imageUrl, width, height)));
+        if (imageUrl == null || imageUrl.isEmpty()) {
+            return request;
+        }
+        return request.resize(width, height)
+                .centerCrop()
+                .onlyScaleDown()
+                .config(Bitmap.Config.RGB_565);
+    }
+
+    /**
+     * Loads the full-width cover of the details screen
+     */
+    public static void loadHero(ImageView view, String imageUrl) {
+        Resources resources = view.getResources();
+        int width = resources.getDisplayMetrics().widthPixels;
+        int height = resources.getDimensionPixelSize(R.dimen.game_hero_height);
+        RequestCreator request = Picasso.get().load(orNull(sizedUrl(imageUrl, width, height)));
+        if (imageUrl != null && !imageUrl.isEmpty()) {
+            // fit() waits for the measured size, which may be narrower than the screen
+            request.fit().centerCrop().onlyScaleDown();
+        }
+        request.into(view);
+    }
+
+    /**
+     * Rewrites a RAWG media URL to the smallest CDN variant that still covers the target.
+     * URLs from other hosts, or already pointing at a variant, are returned unchanged.
+     */
+    static String sizedUrl(String imageUrl, int width, int height) {
+        if (imageUrl == null || !imageUrl.startsWith(MEDIA_PREFIX)) {
+            return imageUrl;
+        }
+        String path = imageUrl.substring(MEDIA_PREFIX.length());
+        if (path.startsWith("crop/") || path.startsWith("resize/")) {
+            return imageUrl;
+        }
+        if (width <= CROP_WIDTH && height <= CROP_HEIGHT) {
+            return MEDIA_PREFIX + "crop/" + CROP_WIDTH + "/" + CROP_HEIGHT + "/" + path;
+        }
+        for (int resizeWidth : RESIZE_WIDTHS) {
+            if (width <= resizeWidth) {
+                return MEDIA_PREFIX + "resize/" + resizeWidth + "/-/" + path;
+            }
+        }
+        return imageUrl;
+    }
+
+    // Picasso rejects empty paths but treats null as "no image"
+    private static String orNull(String imageUrl) {
+        return imageUrl == null || imageUrl.isEmpty() ? null : imageUrl;
+    }
+}
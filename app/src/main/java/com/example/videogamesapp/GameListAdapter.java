@@ -0,0 +1,152 @@
+package com.example.videogamesapp;
+
+import android.app.Activity;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Adapter of a fully loaded list of games, e.g. search results or favorites.
+ * Rows have stable IDs (the game ID) and new lists are diffed on the shared CPU pool, so
+ * an update only rebinds the rows that were added, moved or changed. Like state changes
+ * rebind just the like button of the affected rows.
+ */
+public class GameListAdapter extends ListAdapter<NewGame, GameViewHolder>
+        implements ImagePrefetcher.UrlProvider {
+
+    /**
+     * Identifies games by ID and compares the fields shown in a row
+     */
+    static final DiffUtil.ItemCallback<NewGame> DIFF_CALLBACK = new DiffUtil.ItemCallback<NewGame>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull NewGame oldItem, @NonNull NewGame newItem) {
+            return oldItem.getGameId() == newItem.getGameId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull NewGame oldItem, @NonNull NewGame newItem) {
+            return Objects.equals(oldItem.getGameName(), newItem.getGameName())
+                    && Objects.equals(oldItem.getImageUrl(), newItem.getImageUrl())
+                    && Objects.equals(oldItem.getDescription(), newItem.getDescription());
+        }
+    };
+
+    private final Activity activity;
+    // Liked game IDs shared by all screens
+    private final LikedGameSet likedGames = LikedGameSet.getInstance();
+    private final LikedGameSet.Listener likedListener = (gameId, liked) -> {
+        List<NewGame> games = getCurrentList();
+        for (int i = 0; i < games.size(); i++) {
+            if (games.get(i).getGameId() == gameId) {
+                notifyItemChanged(i, GameViewHolder.PAYLOAD_LIKED);
+            }
+        }
+    };
+    // Loads the covers about to scroll into view
+    private ImagePrefetcher imagePrefetcher;
+    // Times creates and binds, and the frames drawn while the list scrolls
+    private final BindProfiler.Probe bindProbe;
+    private BindProfiler.FrameTracker frameTracker;
+    // Shown in rows of games without a description
+    private String emptyDescription = "";
+
+    /**
+     * @param activity The activity context
+     */
+    public GameListAdapter(Activity activity) {
+        // Diff on the shared CPU pool instead of a private diffing thread
+        super(new AsyncDifferConfig.Builder<>(DIFF_CALLBACK)
+                .setBackgroundThreadExecutor(TaskScheduler.getInstance().cpuExecutor())
+                .build());
+        this.activity = activity;
+        this.bindProbe = BindProfiler.probe(activity, "GameListAdapter");
+        setHasStableIds(true);
+    }
+
+    /**
+     * Sets the text rows show for games without a description; games keep their empty one
+     */
+    public void setEmptyDescription(String emptyDescription) {
+        this.emptyDescription = emptyDescription;
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        likedGames.addListener(likedListener);
+        imagePrefetcher = ImagePrefetcher.attach(recyclerView, this);
+        frameTracker = bindProbe.trackFrames(activity, recyclerView);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        likedGames.removeListener(likedListener);
+        imagePrefetcher.detach(recyclerView);
+        imagePrefetcher = null;
+        frameTracker.detach(recyclerView);
+        frameTracker = null;
+    }
+
+    @Override
+    public String imageUrlAt(int position) {
+        return getItem(position).getImageUrl();
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return GameViewHolder.VIEW_TYPE;
+    }
+
+    @Override
+    public GameViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        long start = bindProbe.start();
+        GameViewHolder holder = GameViewHolder.create(parent);
+        bindProbe.endCreate(holder, viewType, start);
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(GameViewHolder holder, int position) {
+        holder.bind(getItem(position), emptyDescription);
+    }
+
+    @Override
+    public void onBindViewHolder(GameViewHolder holder, int position, List<Object> payloads) {
+        long start = bindProbe.start();
+        try {
+            if (payloads.contains(GameViewHolder.PAYLOAD_LIKED)) {
+                holder.bindLikeState(getItem(position).getGameId());
+                return;
+            }
+            onBindViewHolder(holder, position);
+        } finally {
+            bindProbe.endBind(holder, payloads, start);
+        }
+    }
+
+    @Override
+    public void onViewRecycled(GameViewHolder holder) {
+        holder.unbind();
+    }
+
+    @Override
+    public void onViewAttachedToWindow(GameViewHolder holder) {
+        DetailPrefetcher.getInstance(activity).onRowShown((int) holder.getItemId());
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(GameViewHolder holder) {
+        DetailPrefetcher.getInstance(activity).onRowHidden((int) holder.getItemId());
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getGameId();
+    }
+}
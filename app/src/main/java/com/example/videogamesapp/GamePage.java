@@ -0,0 +1,38 @@
+package com.example.videogamesapp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of a RAWG list response (/games, /games?search=...).
+ * Holds the parsed results together with the cursor to the next page.
+ */
+public class GamePage {
+    private final List<NewGame> results;
+    private final String next;
+    private final int count;
+
+    public GamePage(List<NewGame> results, String next, int count) {
+        this.results = results != null ? results : new ArrayList<>();
+        this.next = next;
+        this.count = count;
+    }
+
+    public List<NewGame> getResults() {
+        return results;
+    }
+
+    /**
+     * @return Absolute URL of the next page, or null when this is the last page
+     */
+    public String getNext() {
+        return next;
+    }
+
+    /**
+     * @return Total number of results reported by RAWG for the query
+     */
+    public int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.videogamesapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Paged, prefetching source for a game list backed by GameRepository.
+ * Pages are requested when binding comes within the prefetch distance of a page that is not
+ * loaded. Only a bounded window of pages is kept in memory; pages far from the last bound
+ * position are dropped and come back from Room when scrolled to again. Positions whose page
+ * is not loaded yet are reported as null so the adapter can bind a placeholder.
+ * Must be used from the main thread.
+ */
+public class GamePager {
+    private static final String TAG = "GamePager";
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int DEFAULT_PREFETCH_DISTANCE = 10;
+    public static final int DEFAULT_MAX_PAGES_IN_MEMORY = 5;
+
+    // The screen, which bounds the page loads
+    private final Context context;
+    private final GameRepository repository;
+    private final TaskScheduler.Scope scope;
+    private final String listKey;
+    private final Map<String, String> params;
+    private final int pageSize;
+    private final int prefetchDistance;
+    private final int maxPagesInMemory;
+
+    private final Map<Integer, List<NewGame>> pages = new HashMap<>();
+    private final Set<Integer> loadingPages = new HashSet<>();
+    // Bumped when the list is revalidated; callbacks of loads started before are ignored
+    private int generation;
+    // Highest page seen so far and whether RAWG has more after it
+    private int lastPage = -1;
+    private int lastPageSize = 0;
+    private boolean hasNext = true;
+    private int lastAccessedPage = 0;
+
+    private RecyclerView.Adapter<?> adapter;
+
+    public GamePager(Context context, String listKey, Map<String, String> params) {
+        this(context, listKey, params, DEFAULT_PAGE_SIZE, DEFAULT_PREFETCH_DISTANCE, DEFAULT_MAX_PAGES_IN_MEMORY);
+    }
+
+    /**
+     * @param context The screen's context; its lifecycle bounds the page loads
+     * @param listKey Cache key of the list in Room
+     * @param params RAWG query parameters without page and page_size
+     * @param pageSize Games per page
+     * @param prefetchDistance How many positions ahead of a missing page it is requested
+     * @param maxPagesInMemory Pages kept in memory before the farthest ones are dropped
+     */
+    public GamePager(Context context, String listKey, Map<String, String> params,
+                     int pageSize, int prefetchDistance, int maxPagesInMemory) {
+        this.context = context;
+        this.repository = GameRepository.getInstance(context);
+        this.scope = TaskScheduler.getInstance().scopeFor(context);
+        this.listKey = listKey;
+        this.params = params;
+        this.pageSize = pageSize;
+        this.prefetchDistance = prefetchDistance;
+        this.maxPagesInMemory = Math.max(2, maxPagesInMemory);
+    }
+
+    /**
+     * Home screen "New Games" pager
+     */
+    public static GamePager forNewGames(Context context) {
+        return new GamePager(context, GameRepository.LIST_NEW_GAMES, GameRepository.newGamesParams());
+    }
+
+    /**
+     * Pager over the 2023 releases of one genre
+     */
+    public static GamePager forGenre(Context context, int genreId) {
+        return new GamePager(context, GameRepository.LIST_GENRE_PREFIX + genreId, GameRepository.genreParams(genreId));
+    }
+
+    /**
+     * Attaches the adapter that displays this pager and loads the first page
+     */
+    public void attach(RecyclerView.Adapter<?> adapter) {
+        this.adapter = adapter;
+        // The home screen's first page is usually already loading since process start;
+        // what has arrived is replayed right away, so mark the page loading first
+        loadingPages.add(0);
+        if (!StartupOrchestrator.getInstance().takeFirstPage(context, listKey, pageSize, pageCallback(generation))) {
+            loadPage(0, TaskScheduler.PRIORITY_IMMEDIATE);
+        }
+    }
+
+    /**
+     * @return Loaded positions plus one page of placeholders while more pages exist
+     */
+    public int getItemCount() {
+        if (lastPage < 0) {
+            return 0;
+        }
+        int loaded = lastPage * pageSize + lastPageSize;
+        return hasNext ? loaded + pageSize : loaded;
+    }
+
+    /**
+     * Returns the game at a position, or null for a placeholder.
+     * Also triggers loading of pages within the prefetch distance.
+     */
+    public NewGame getItem(int position) {
+        int page = position / pageSize;
+        lastAccessedPage = page;
+
+        ensureLoaded(page, TaskScheduler.PRIORITY_IMMEDIATE);
+        ensureLoaded((position + prefetchDistance) / pageSize, TaskScheduler.PRIORITY_PREFETCH);
+        ensureLoaded(Math.max(0, position - prefetchDistance) / pageSize, TaskScheduler.PRIORITY_PREFETCH);
+
+        List<NewGame> games = pages.get(page);
+        int offset = position - page * pageSize;
+        return games != null && offset < games.size() ? games.get(offset) : null;
+    }
+
+    /**
+     * Returns the game at a position if its page is loaded, without triggering any load
+     */
+    public NewGame peekItem(int position) {
+        List<NewGame> games = pages.get(position / pageSize);
+        int offset = position % pageSize;
+        return games != null && offset < games.size() ? games.get(offset) : null;
+    }
+
+    /**
+     * Stable ID of a position: the game ID, or a negative ID for placeholders
+     */
+    public long getItemId(int position) {
+        NewGame game = peekItem(position);
+        return game != null ? game.getGameId() : -1L - position;
+    }
+
+    /**
+     * Visits the positions of a game among the loaded pages, e.g. to rebind only its rows
+     */
+    public void forEachPositionOf(int gameId, IntConsumer action) {
+        for (Map.Entry<Integer, List<NewGame>> entry : pages.entrySet()) {
+            List<NewGame> games = entry.getValue();
+            for (int i = 0; i < games.size(); i++) {
+                if (games.get(i).getGameId() == gameId) {
+                    action.accept(entry.getKey() * pageSize + i);
+                }
+            }
+        }
+    }
+
+    private void ensureLoaded(int page, int priority) {
+        boolean beyondEnd = page > lastPage && (!hasNext || page > lastPage + 1);
+        if (page < 0 || beyondEnd || pages.containsKey(page) || loadingPages.contains(page)) {
+            return;
+        }
+        loadPage(page, priority);
+    }
+
+    private void loadPage(int page, int priority) {
+        loadingPages.add(page);
+        repository.loadPage(scope, priority, listKey, params, page, pageSize, pageCallback(generation));
+    }
+
+    /**
+     * @param loadGeneration The generation the load was started in
+     */
+    private GameRepository.PageCallback pageCallback(int loadGeneration) {
+        return new GameRepository.PageCallback() {
+            @Override
+            public void onStalePageLoaded(int loadedPage, List<NewGame> games, boolean more) {
+                if (loadGeneration != generation) {
+                    return;
+                }
+                // Still loading: the revalidated page follows
+                onPage(loadedPage, games, more, false);
+            }
+
+            @Override
+            public void onPageLoaded(int loadedPage, List<NewGame> games, boolean more, boolean fromNetwork) {
+                if (loadGeneration != generation) {
+                    return;
+                }
+                loadingPages.remove(loadedPage);
+                onPage(loadedPage, games, more, fromNetwork);
+            }
+
+            @Override
+            public void onPageFailed(int failedPage, Exception e) {
+                if (loadGeneration != generation) {
+                    return;
+                }
+                loadingPages.remove(failedPage);
+                Log.w(TAG, "Page " + failedPage + " of " + listKey + " failed", e);
+            }
+        };
+    }
+
+    private void onPage(int page, List<NewGame> games, boolean more, boolean fromNetwork) {
+        int oldCount = getItemCount();
+
+        Set<Integer> reloadPages = null;
+        if (page == 0 && fromNetwork) {
+            // The list was revalidated: later pages, and loads still in flight, belong to
+            // the old ordering. Their results are dropped and they are requested again.
+            generation++;
+            reloadPages = new HashSet<>(loadingPages);
+            loadingPages.clear();
+            if (lastPage > 0) {
+                pages.clear();
+                lastPage = -1;
+            }
+        }
+        pages.put(page, games);
+        if (page >= lastPage) {
+            lastPage = page;
+            lastPageSize = games.size();
+            hasNext = more;
+        }
+        trimWindow();
+
+        notifyAdapter(page, games, fromNetwork, oldCount);
+        if (reloadPages != null) {
+            for (int reloadPage : reloadPages) {
+                ensureLoaded(reloadPage, TaskScheduler.PRIORITY_PREFETCH);
+            }
+        }
+    }
+
+    private void notifyAdapter(int page, List<NewGame> games, boolean fromNetwork, int oldCount) {
+        if (adapter == null) {
+            return;
+        }
+        int newCount = getItemCount();
+        if (page == 0 && fromNetwork && oldCount > newCount) {
+            adapter.notifyDataSetChanged();
+            return;
+        }
+        int start = page * pageSize;
+        int changed = Math.max(0, Math.min(games.size(), oldCount - start));
+        if (changed > 0) {
+            adapter.notifyItemRangeChanged(start, changed);
+        }
+        if (newCount > oldCount) {
+            adapter.notifyItemRangeInserted(oldCount, newCount - oldCount);
+        } else if (newCount < oldCount) {
+            adapter.notifyItemRangeRemoved(newCount, oldCount - newCount);
+        }
+    }
+
+    /**
+     * Drops the pages farthest from the last bound page once the window is full
+     */
+    private void trimWindow() {
+        while (pages.size() > maxPagesInMemory) {
+            int farthest = -1;
+            int farthestDistance = -1;
+            for (Integer page : pages.keySet()) {
+                int distance = Math.abs(page - lastAccessedPage);
+                if (distance > farthestDistance) {
+                    farthest = page;
+                    farthestDistance = distance;
+                }
+            }
+            pages.remove(farthest);
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package com.example.videogamesapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline-first access to the RAWG catalog.
+ * Lists are served from Room first and revalidated against RAWG in the background once
+ * their freshness window has passed. Fetched pages are written back in one transaction.
+ * Asynchronous loads run on the TaskScheduler I/O pool within the caller's scope, so they
+ * and their callbacks are dropped when the calling screen is destroyed.
+ */
+public class GameRepository {
+    private static final String TAG = "GameRepository";
+
+    // List keys for the cached catalog lists
+    public static final String LIST_NEW_GAMES = "new";
+    public static final String LIST_FEATURED = "featured";
+    public static final String LIST_GENRE_PREFIX = "genre:";
+
+    // How long a cached list or game row is considered fresh
+    public static final long LIST_MAX_AGE_MS = 30 * 60 * 1000L;
+    public static final long SEARCH_MAX_AGE_MS = 10 * 60 * 1000L;
+    public static final long GAME_MAX_AGE_MS = 24 * 60 * 60 * 1000L;
+
+    // IDs per IN (...) query, SQLite allows 999 bound variables
+    private static final int MAX_QUERY_IDS = 500;
+
+    private static GameRepository instance;
+
+    private final AppDatabase database;
+    private final GameDao gameDao;
+    private final RawgClient client;
+
+    /**
+     * Receives list contents on the main thread
+     */
+    public interface GamesCallback {
+        /**
+         * @param games The list contents
+         * @param fromNetwork False when served from the local cache, true once revalidated
+         */
+        void onGamesLoaded(List<NewGame> games, boolean fromNetwork);
+    }
+
+    /**
+     * Receives one page of a paged list on the main thread
+     */
+    public interface PageCallback {
+        /**
+         * @param page Zero-based page index
+         * @param games Games on the page, in RAWG order
+         * @param hasNext Whether more pages follow
+         * @param fromNetwork False when served from Room
+         */
+        void onPageLoaded(int page, List<NewGame> games, boolean hasNext, boolean fromNetwork);
+
+        /**
+         * A cached page past its freshness window; onPageLoaded or onPageFailed follows
+         */
+        void onStalePageLoaded(int page, List<NewGame> games, boolean hasNext);
+
+        void onPageFailed(int page, Exception e);
+    }
+
+    /**
+     * Receives one game on the main thread
+     */
+    public interface GameCallback {
+        /**
+         * @param game The game as far as it is known
+         * @param complete Whether it carries its full details; if not, another call follows
+         *                 unless the fetch fails
+         */
+        void onGameLoaded(NewGame game, boolean complete);
+
+        void onGameFailed(Exception e);
+    }
+
+    public static synchronized GameRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new GameRepository(AppDatabase.getInstance(context), RawgClient.getInstance(context));
+        }
+        return instance;
+    }
+
+    GameRepository(AppDatabase database, RawgClient client) {
+        this.database = database;
+        this.gameDao = database.gameDao();
+        this.client = client;
+    }
+
+    /**
+     * Home screen "Featured Games"
+     */
+    public void loadFeaturedGames(TaskScheduler.Scope scope, GamesCallback callback) {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("page_size", "20");
+        loadList(scope, LIST_FEATURED, params, LIST_MAX_AGE_MS, callback);
+    }
+
+    /**
+     * Blocking search: fresh results from Room, otherwise from RAWG.
+     * When RAWG cannot be reached, whatever Room holds for the query is returned.
+     * @param token Cancels the RAWG request; the call then throws InterruptedIOException
+     */
+    public List<NewGame> searchGamesNow(String query, int genreId, CancellationToken token) throws IOException {
+        String listKey = searchKey(query, genreId);
+        CatalogList meta = gameDao.loadListMeta(listKey);
+        List<NewGame> cached = toNewGames(gameDao.loadList(listKey));
+        if (meta != null && System.currentTimeMillis() - meta.fetchedAt <= SEARCH_MAX_AGE_MS) {
+            return cached;
+        }
+        try {
+            GamePage page = client.searchGames(query, genreId, token);
+            saveList(listKey, page);
+            return page.getResults();
+        } catch (IOException e) {
+            if (cached.isEmpty() || (token != null && token.isCancelled())) {
+                throw e;
+            }
+            Log.w(TAG, "Serving cached results for " + listKey, e);
+            return cached;
+        }
+    }
+
+    /**
+     * Searches the games cached in Room through the full-text index.
+     * Every word is matched as a prefix. Blocking: call from a background thread.
+     * @param limit Maximum number of hits
+     */
+    public List<NewGame> searchLocal(String query, int limit) {
+        String match = buildMatchExpression(query);
+        if (match.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String trimmed = query.trim();
+        return toNewGames(gameDao.search(match, trimmed + "%", "%" + trimmed + "%", limit));
+    }
+
+    /**
+     * Turns free text into an FTS4 prefix query, dropping FTS operators and punctuation
+     */
+    static String buildMatchExpression(String query) {
+        StringBuilder match = new StringBuilder();
+        for (String word : query.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append(word).append('*');
+            }
+        }
+        return match.toString();
+    }
+
+    private static String searchKey(String query, int genreId) {
+        return "search:" + genreId + ":" + query.trim().toLowerCase();
+    }
+
+    /**
+     * Serves a cached list immediately if there is one, then refreshes it from RAWG
+     * when it is missing or older than maxAgeMs. The callback is invoked at most twice.
+     * Cancelling the scope aborts a running refresh.
+     */
+    public void loadList(TaskScheduler.Scope scope, String listKey, Map<String, String> params, long maxAgeMs,
+                         GamesCallback callback) {
+        CancellationToken token = new CancellationToken();
+        scope.io(TaskScheduler.PRIORITY_DEFAULT, token, () -> {
+            List<NewGame> cached = toNewGames(gameDao.loadList(listKey));
+            if (!cached.isEmpty()) {
+                scope.postToMain(() -> callback.onGamesLoaded(cached, false));
+            }
+
+            CatalogList meta = gameDao.loadListMeta(listKey);
+            boolean stale = meta == null || System.currentTimeMillis() - meta.fetchedAt > maxAgeMs;
+            if (!stale && !cached.isEmpty()) {
+                return;
+            }
+
+            try {
+                GamePage page = client.listGames(params, token);
+                saveList(listKey, page);
+                List<NewGame> fresh = page.getResults();
+                scope.postToMain(() -> callback.onGamesLoaded(fresh, true));
+            } catch (IOException e) {
+                if (!token.isCancelled()) {
+                    Log.e(TAG, "Error refreshing list " + listKey, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Query parameters of the home screen "New Games" list
+     */
+    public static Map<String, String> newGamesParams() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("dates", "2023-01-01,2023-12-31");
+        params.put("ordering", "-released");
+        return params;
+    }
+
+    /**
+     * Query parameters of a genre list
+     */
+    public static Map<String, String> genreParams(int genreId) {
+        Map<String, String> params = newGamesParams();
+        params.put("genres", String.valueOf(genreId));
+        return params;
+    }
+
+    /**
+     * Loads one page of a paged list. Pages stored in Room are served without a request
+     * while the list is fresh. A stale first page is shown from Room and then replaced,
+     * which also drops the later pages stored for the old ordering. Later pages follow the
+     * RAWG "next" cursor when they are the next one to fetch and are appended to the list.
+     * Cancelling the scope aborts a running request.
+     *
+     * @param listKey Cache key of the list
+     * @param params Query parameters without page and page_size
+     * @param page Zero-based page index
+     * @param pageSize Games per page
+     * @param priority TaskScheduler priority, lower for prefetched pages
+     */
+    public void loadPage(TaskScheduler.Scope scope, int priority, String listKey, Map<String, String> params,
+                         int page, int pageSize, PageCallback callback) {
+        CancellationToken token = new CancellationToken();
+        scope.io(priority, token, () -> {
+            CatalogList meta = gameDao.loadListMeta(listKey);
+            boolean fresh = meta != null && System.currentTimeMillis() - meta.fetchedAt <= LIST_MAX_AGE_MS;
+            int persisted = gameDao.countEntries(listKey);
+            List<NewGame> cached = toNewGames(gameDao.loadListRange(listKey, page * pageSize, pageSize));
+            boolean cachedHasNext = persisted > (page + 1) * pageSize || (meta != null && meta.nextUrl != null);
+
+            if (!cached.isEmpty() && (fresh || page > 0)) {
+                boolean complete = cached.size() == pageSize || !cachedHasNext;
+                if (complete) {
+                    scope.postToMain(() -> callback.onPageLoaded(page, cached, cachedHasNext, false));
+                    return;
+                }
+            }
+            if (page == 0 && !cached.isEmpty()) {
+                // Stale first page: show it while it is revalidated
+                scope.postToMain(() -> callback.onStalePageLoaded(page, cached, cachedHasNext));
+            }
+
+            try {
+                GamePage result;
+                boolean isFrontier = meta != null && meta.nextUrl != null && persisted == page * pageSize;
+                if (page > 0 && isFrontier) {
+                    result = client.listGamesAt(meta.nextUrl, token);
+                } else {
+                    Map<String, String> pageParams = new LinkedHashMap<>(params);
+                    pageParams.put("page", String.valueOf(page + 1));
+                    pageParams.put("page_size", String.valueOf(pageSize));
+                    result = client.listGames(pageParams, token);
+                }
+
+                if (page == 0) {
+                    saveList(listKey, result);
+                } else {
+                    savePage(listKey, page * pageSize, result);
+                }
+                List<NewGame> games = result.getResults();
+                boolean hasNext = result.getNext() != null;
+                scope.postToMain(() -> callback.onPageLoaded(page, games, hasNext, true));
+            } catch (IOException e) {
+                if (token.isCancelled()) {
+                    return;
+                }
+                Log.e(TAG, "Error fetching page " + page + " of " + listKey, e);
+                scope.postToMain(() -> callback.onPageFailed(page, e));
+            }
+        });
+    }
+
+    /**
+     * Returns the cached rows for the given IDs, in no particular order.
+     * Blocking: call from a background thread.
+     */
+    public List<Game> loadCachedGames(int[] gameIds) {
+        if (gameIds.length <= MAX_QUERY_IDS) {
+            return gameDao.loadAllByIds(gameIds);
+        }
+        // Stay under SQLite's bound variable limit
+        List<Game> rows = new ArrayList<>(gameIds.length);
+        for (int from = 0; from < gameIds.length; from += MAX_QUERY_IDS) {
+            rows.addAll(gameDao.loadAllByIds(Arrays.copyOfRange(gameIds, from, Math.min(from + MAX_QUERY_IDS, gameIds.length))));
+        }
+        return rows;
+    }
+
+    /**
+     * Fetches a game's full record from RAWG and stores it.
+     * Blocking: call from a background thread.
+     */
+    public NewGame fetchGame(int gameId) throws IOException {
+        return fetchGame(gameId, null);
+    }
+
+    /**
+     * Fetches and stores a game's full record, abortable through the token
+     * @param token Cancelling it aborts the RAWG request; may be null
+     */
+    public NewGame fetchGame(int gameId, CancellationToken token) throws IOException {
+        NewGame game = client.getGame(gameId, token);
+        gameDao.insertAll(Game.fromNewGame(game, System.currentTimeMillis()));
+        return game;
+    }
+
+    /**
+     * Stores a game's full record unless Room already holds a complete and fresh one.
+     * Blocking: call from a background thread.
+     * @param token Cancelling it aborts the RAWG request
+     * @return True when the game was requested over the network, false when Room or the
+     *         RAWG response cache already had it
+     */
+    public boolean prefetchGame(int gameId, CancellationToken token) throws IOException {
+        if (isCompleteAndFresh(loadCachedGame(gameId))) {
+            return false;
+        }
+        boolean cached = client.hasFreshGame(gameId);
+        NewGame game = client.getGame(gameId, token);
+        gameDao.insertAll(Game.fromNewGame(game, System.currentTimeMillis()));
+        return !cached;
+    }
+
+    /**
+     * Returns a game with its full details, from Room when the cached row is complete
+     * and fresh, otherwise from RAWG. Blocking: call from a background thread.
+     */
+    public NewGame loadGame(int gameId) throws IOException {
+        Game row = loadCachedGame(gameId);
+        if (isCompleteAndFresh(row)) {
+            return row.toNewGame();
+        }
+        return fetchGame(gameId);
+    }
+
+    /**
+     * Serves the cached row of a game at once, then fetches its full record from RAWG
+     * unless that row is already complete and fresh. Lists store games without their
+     * description, so a row is complete only after a detail fetch or prefetch.
+     * Cancelling the scope aborts a running fetch.
+     */
+    public void loadGameDetails(TaskScheduler.Scope scope, int gameId, GameCallback callback) {
+        CancellationToken token = new CancellationToken();
+        scope.io(TaskScheduler.PRIORITY_IMMEDIATE, token, () -> {
+            Game row = loadCachedGame(gameId);
+            boolean done = isCompleteAndFresh(row);
+            if (row != null) {
+                NewGame cached = row.toNewGame();
+                scope.postToMain(() -> callback.onGameLoaded(cached, done));
+            }
+            if (done) {
+                return;
+            }
+            try {
+                NewGame game = fetchGame(gameId, token);
+                scope.postToMain(() -> callback.onGameLoaded(game, true));
+            } catch (IOException e) {
+                if (token.isCancelled()) {
+                    return;
+                }
+                Log.e(TAG, "Error fetching game " + gameId, e);
+                scope.postToMain(() -> callback.onGameFailed(e));
+            }
+        });
+    }
+
+    private Game loadCachedGame(int gameId) {
+        List<Game> rows = gameDao.loadAllByIds(new int[]{gameId});
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private static boolean isCompleteAndFresh(Game row) {
+        return row != null && row.description != null && !row.description.isEmpty()
+                && System.currentTimeMillis() - row.fetchedAt <= GAME_MAX_AGE_MS;
+    }
+
+    /**
+     * Replaces a cached list with a freshly fetched page in a single transaction.
+     * List endpoints do not return descriptions, so descriptions already stored
+     * from a detail fetch are carried over instead of being blanked.
+     */
+    void saveList(String listKey, GamePage page) {
+        long now = System.currentTimeMillis();
+        List<NewGame> results = page.getResults();
+        database.runInTransaction(() -> {
+            int[] ids = new int[results.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = results.get(i).getGameId();
+            }
+            Map<Integer, Game> existing = new HashMap<>();
+            for (Game game : gameDao.loadAllByIds(ids)) {
+                existing.put(game.gameId, game);
+            }
+
+            Game[] games = new Game[results.size()];
+            CatalogEntry[] entries = new CatalogEntry[results.size()];
+            for (int i = 0; i < results.size(); i++) {
+                NewGame result = results.get(i);
+                games[i] = mergeListRow(result, existing.get(result.getGameId()), now);
+                entries[i] = new CatalogEntry(listKey, i, result.getGameId());
+            }
+
+            gameDao.insertAll(games);
+            gameDao.deleteEntries(listKey);
+            gameDao.insertEntries(entries);
+            gameDao.insertListMeta(new CatalogList(listKey, now, page.getNext()));
+        });
+    }
+
+    /**
+     * Stores a later page of a list at the given offset in one transaction.
+     * The cursor is only advanced when the page extends the stored list.
+     */
+    void savePage(String listKey, int offset, GamePage page) {
+        long now = System.currentTimeMillis();
+        List<NewGame> results = page.getResults();
+        database.runInTransaction(() -> {
+            Game[] games = new Game[results.size()];
+            CatalogEntry[] entries = new CatalogEntry[results.size()];
+            int[] ids = new int[results.size()];
+            for (int i = 0; i < results.size(); i++) {
+                ids[i] = results.get(i).getGameId();
+            }
+            Map<Integer, Game> existing = new HashMap<>();
+            for (Game game : gameDao.loadAllByIds(ids)) {
+                existing.put(game.gameId, game);
+            }
+            for (int i = 0; i < results.size(); i++) {
+                games[i] = mergeListRow(results.get(i), existing.get(ids[i]), now);
+                entries[i] = new CatalogEntry(listKey, offset + i, ids[i]);
+            }
+            gameDao.insertAll(games);
+            gameDao.insertEntries(entries);
+
+            CatalogList meta = gameDao.loadListMeta(listKey);
+            if (meta != null && gameDao.countEntries(listKey) == offset + results.size()) {
+                meta.nextUrl = page.getNext();
+                gameDao.insertListMeta(meta);
+            }
+        });
+    }
+
+    /**
+     * Builds the row for a list result, keeping a description stored by a detail fetch
+     */
+    private static Game mergeListRow(NewGame result, Game previous, long now) {
+        Game game = Game.fromNewGame(result, now);
+        if (result.getDescription().isEmpty() && previous != null && previous.description != null) {
+            game.description = previous.description;
+        }
+        return game;
+    }
+
+    private static List<NewGame> toNewGames(List<Game> rows) {
+        List<NewGame> games = new ArrayList<>(rows.size());
+        for (Game row : rows) {
+            games.add(row.toNewGame());
+        }
+        return games;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.videogamesapp;
+
+import android.content.Context;
+import android.content.Intent;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.CheckBox;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.squareup.picasso.Picasso;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Row of the vertical game lists (item_new_game): cover, name, description and like button.
+ * Every adapter showing these rows binds them through this class, and they share one
+ * RecycledViewPool per screen.
+ */
+public class GameViewHolder extends RecyclerView.ViewHolder {
+    // View type of these rows, unique among the adapters that may share a pool
+    static final int VIEW_TYPE = R.layout.item_new_game;
+    // Partial rebind that only touches the like button
+    static final Object PAYLOAD_LIKED = new Object();
+    private static final int MAX_POOLED_ROWS = 20;
+
+    // One pool per screen: rows hold their activity's context and theme
+    private static final Map<LifecycleOwner, RecyclerView.RecycledViewPool> pools = new HashMap<>();
+
+    final TextView tvGameName;
+    final ImageView ivGameImage;
+    final TextView tvGameDescription;
+    final CheckBox btnLike;
+
+    private GameViewHolder(View itemView) {
+        super(itemView);
+        tvGameName = itemView.findViewById(R.id.tvGameId);
+        ivGameImage = itemView.findViewById(R.id.ivGameImage);
+        tvGameDescription = itemView.findViewById(R.id.tvGameDescription);
+        btnLike = itemView.findViewById(R.id.btnLike);
+    }
+
+    static GameViewHolder create(ViewGroup parent) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_new_game, parent, false);
+        return new GameViewHolder(view);
+    }
+
+    /**
+     * The pool shared by the game lists of a screen, released when it is destroyed
+     */
+    static RecyclerView.RecycledViewPool sharedPool(LifecycleOwner owner) {
+        RecyclerView.RecycledViewPool pool = pools.get(owner);
+        if (pool == null) {
+            pool = new RecyclerView.RecycledViewPool();
+            pool.setMaxRecycledViews(VIEW_TYPE, MAX_POOLED_ROWS);
+            pools.put(owner, pool);
+            owner.getLifecycle().addObserver((LifecycleEventObserver) (source, event) -> {
+                if (event == Lifecycle.Event.ON_DESTROY) {
+                    pools.remove(source);
+                }
+            });
+        }
+        return pool;
+    }
+
+    /**
+     * Shows a game; tapping the row opens its details
+     */
+    void bind(NewGame game) {
+        bind(game, "");
+    }
+
+    /**
+     * Shows a game, with a placeholder text in place of a missing description. The
+     * placeholder is only displayed: the details screen still receives no description.
+     */
+    void bind(NewGame game, String emptyDescription) {
+        btnLike.setVisibility(View.VISIBLE);
+        tvGameName.setText(game.getGameName());
+        tvGameDescription.setText(game.getDescription().isEmpty() ? emptyDescription : game.getDescription());
+        GameImages.loadThumbnail(ivGameImage, game.getImageUrl());
+        bindLikeState(game.getGameId());
+
+        itemView.setOnClickListener(v -> {
+            Context context = v.getContext();
+            Intent intent = new Intent(context, GameDetailsActivity.class);
+            intent.putExtra("GAME_ID", game.getGameId());
+            intent.putExtra("GAME_NAME", game.getGameName());
+            intent.putExtra("GAME_IMAGE_URL", game.getImageUrl());
+            intent.putExtra("GAME_DESCRIPTION", game.getDescription());
+            context.startActivity(intent);
+        });
+    }
+
+    /**
+     * Shows the liked state of a game and wires the like button
+     */
+    void bindLikeState(int gameId) {
+        // Detach the listener first so restoring the state does not write to Firestore
+        btnLike.setOnCheckedChangeListener(null);
+        btnLike.setChecked(LikedGameSet.getInstance().contains(gameId));
+        // Applied at once and written to Firestore in the background
+        btnLike.setOnCheckedChangeListener((buttonView, isChecked) ->
+                UserStateStore.getInstance(buttonView.getContext()).setLiked(gameId, isChecked));
+    }
+
+    /**
+     * Shows an empty row, e.g. while the page holding its position loads
+     */
+    void bindPlaceholder() {
+        Picasso.get().cancelRequest(ivGameImage);
+        ivGameImage.setImageDrawable(null);
+        tvGameName.setText("");
+        tvGameDescription.setText("");
+        btnLike.setOnCheckedChangeListener(null);
+        btnLike.setVisibility(View.INVISIBLE);
+        itemView.setOnClickListener(null);
+    }
+
+    /**
+     * @return Whether the row shows a game rather than a placeholder
+     */
+    boolean isBound() {
+        return btnLike.getVisibility() == View.VISIBLE;
+    }
+
+    /**
+     * Drops the listeners of a recycled row, so a pooled row keeps no game alive
+     */
+    void unbind() {
+        btnLike.setOnCheckedChangeListener(null);
+        itemView.setOnClickListener(null);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.videogamesapp;
 
+import android.app.Activity;
 import android.content.Intent;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -24,14 +25,28 @@ public class GenresAdapter extends RecyclerView.Adapter<GenresAdapter.ViewHolder
         new Genre(15, "Sports")
     );
 
+    // Times creates and binds; the genre row only scrolls a short way, its frames are not tracked
+    private final BindProfiler.Probe bindProbe;
+
+    /**
+     * @param activity The screen showing the genres, which names the adapter's probe
+     */
+    public GenresAdapter(Activity activity) {
+        this.bindProbe = BindProfiler.probe(activity, "GenresAdapter");
+    }
+
     @Override
     public ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        long start = bindProbe.start();
         View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_genre, parent, false);
-        return new ViewHolder(view);
+        ViewHolder holder = new ViewHolder(view);
+        bindProbe.endCreate(holder, viewType, start);
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(ViewHolder holder, int position) {
+        long start = bindProbe.start();
         Genre genre = genres.get(position);
         holder.genreButton.setText(genre.getName());
         holder.genreButton.setOnClickListener(v -> {
@@ -40,6 +55,7 @@ public class GenresAdapter extends RecyclerView.Adapter<GenresAdapter.ViewHolder
             intent.putExtra("genreName", genre.getName());
             v.getContext().startActivity(intent);
         });
+        bindProbe.endBind(holder, start);
     }
 
     @Override
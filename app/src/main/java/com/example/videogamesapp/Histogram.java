@@ -0,0 +1,89 @@
+package com.example.videogamesapp;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-bucket histogram of durations, cheap enough to fill on every call or frame.
+ * Percentiles are reported as the upper bound of the bucket they fall in, so they are
+ * stable between runs and easy to compare. Not thread-safe: callers guard it.
+ */
+class Histogram {
+    // Inclusive upper bounds of the buckets, ascending; one more bucket takes the rest
+    private final long[] bounds;
+    private final int[] counts;
+    private int count;
+    private long total;
+    private long max;
+
+    Histogram(long[] bounds) {
+        this.bounds = bounds;
+        this.counts = new int[bounds.length + 1];
+    }
+
+    private Histogram(Histogram other) {
+        this.bounds = other.bounds;
+        this.counts = other.counts.clone();
+        this.count = other.count;
+        this.total = other.total;
+        this.max = other.max;
+    }
+
+    void add(long value) {
+        counts[bucketOf(value)]++;
+        count++;
+        total += value;
+        max = Math.max(max, value);
+    }
+
+    int bucketOf(long value) {
+        for (int i = 0; i < bounds.length; i++) {
+            if (value <= bounds[i]) {
+                return i;
+            }
+        }
+        return bounds.length;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getMax() {
+        return max;
+    }
+
+    long mean() {
+        return count > 0 ? total / count : 0;
+    }
+
+    /**
+     * @param percentile Between 0 and 100
+     * @return Upper bound of the bucket holding that percentile, never above the maximum;
+     *         0 when empty
+     */
+    long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i < bounds.length ? Math.min(bounds[i], max) : max;
+            }
+        }
+        return max;
+    }
+
+    void clear() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    Histogram copy() {
+        return new Histogram(this);
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.videogamesapp;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.util.Log;
+import android.util.LruCache;
+
+import com.squareup.picasso.Cache;
+import com.squareup.picasso.OkHttp3Downloader;
+import com.squareup.picasso.Picasso;
+
+import java.io.File;
+import java.io.IOException;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * Memory and disk caches behind every Picasso load, sized by the app instead of Picasso's
+ * defaults. Decoded bitmaps live in a byte-bounded LRU taking a fraction of the app's heap
+ * (less on low-RAM devices); downloaded covers live in an OkHttp disk cache with its own
+ * byte budget. The memory tier shrinks or empties on onTrimMemory, and hit, miss and
+ * eviction counts are kept for both tiers.
+ * Installed as Picasso's singleton by install(), before the first Picasso.get().
+ */
+public class ImageCache implements Cache, ComponentCallbacks2 {
+    private static final String TAG = "ImageCache";
+
+    // Share of the heap given to decoded bitmaps
+    private static final int HEAP_FRACTION = 8;
+    private static final int LOW_RAM_HEAP_FRACTION = 16;
+    public static final long DISK_BYTES = 50 * 1024 * 1024L;
+    private static final String DISK_DIRECTORY = "images";
+
+    private static ImageCache instance;
+
+    private final LruCache<String, Bitmap> memory;
+    private final okhttp3.Cache disk;
+
+    private ImageCache(int memoryBytes, okhttp3.Cache disk) {
+        this.memory = new LruCache<String, Bitmap>(memoryBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getAllocationByteCount();
+            }
+        };
+        this.disk = disk;
+    }
+
+    /**
+     * Makes Picasso.get() use these caches and hooks them to memory pressure callbacks.
+     * Must be called once, from Application.onCreate().
+     */
+    public static synchronized ImageCache install(Context context) {
+        if (instance != null) {
+            return instance;
+        }
+        Context appContext = context.getApplicationContext();
+        okhttp3.Cache disk = new okhttp3.Cache(new File(appContext.getCacheDir(), DISK_DIRECTORY), DISK_BYTES);
+        instance = new ImageCache(memoryBytes(appContext), disk);
+
+        OkHttpClient client = new OkHttpClient.Builder().cache(disk).build();
+        Picasso picasso = new Picasso.Builder(appContext)
+                .memoryCache(instance)
+                .downloader(new OkHttp3Downloader(client))
+                .build();
+        Picasso.setSingletonInstance(picasso);
+        appContext.registerComponentCallbacks(instance);
+        return instance;
+    }
+
+    /**
+     * @return The installed cache, or null before install()
+     */
+    public static synchronized ImageCache getInstance() {
+        return instance;
+    }
+
+    private static int memoryBytes(Context context) {
+        ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        boolean lowRam = activityManager.isLowRamDevice();
+        // getMemoryClass() is the per-app heap limit in MB
+        long heapBytes = activityManager.getMemoryClass() * 1024L * 1024L;
+        return (int) (heapBytes / (lowRam ? LOW_RAM_HEAP_FRACTION : HEAP_FRACTION));
+    }
+
+    @Override
+    public Bitmap get(String key) {
+        return memory.get(key);
+    }
+
+    @Override
+    public void set(String key, Bitmap bitmap) {
+        if (key == null || bitmap == null) {
+            throw new NullPointerException("key == null || bitmap == null");
+        }
+        memory.put(key, bitmap);
+    }
+
+    @Override
+    public int size() {
+        return memory.size();
+    }
+
+    @Override
+    public int maxSize() {
+        return memory.maxSize();
+    }
+
+    @Override
+    public void clear() {
+        memory.evictAll();
+    }
+
+    /**
+     * Removes every size and transformation variant of an image URI
+     */
+    @Override
+    public void clearKeyUri(String uri) {
+        // Picasso keys are the URI followed by '\n' and the request options
+        for (String key : memory.snapshot().keySet()) {
+            if (key.startsWith(uri) && key.length() > uri.length() && key.charAt(uri.length()) == '\n') {
+                memory.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_MODERATE || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+            // Next in line to be killed, or about to be: what is on disk is enough
+            memory.evictAll();
+        } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            // Includes TRIM_MEMORY_UI_HIDDEN and TRIM_MEMORY_BACKGROUND
+            memory.trimToSize(memory.maxSize() / 2);
+        }
+        // Memory tier only: the disk size would read the DiskLruCache journal on the main thread
+        Log.d(TAG, "Trimmed at level " + level + " to " + memory.size() / 1024 + "/"
+                + memory.maxSize() / 1024 + " KiB, " + getMemoryEvictionCount() + " evictions");
+    }
+
+    @Override
+    public void onLowMemory() {
+        memory.evictAll();
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+
+    public int getMemoryHitCount() {
+        return memory.hitCount();
+    }
+
+    public int getMemoryMissCount() {
+        return memory.missCount();
+    }
+
+    /**
+     * @return Bitmaps dropped to stay within budget, including on memory pressure
+     */
+    public int getMemoryEvictionCount() {
+        return memory.evictionCount();
+    }
+
+    /**
+     * @return Downloads answered from disk, fully or after a 304
+     */
+    public int getDiskHitCount() {
+        return disk.hitCount();
+    }
+
+    /**
+     * @return Downloads that went to the network without a usable disk entry
+     */
+    public int getDiskMissCount() {
+        return disk.requestCount() - disk.hitCount();
+    }
+
+    public long getDiskSize() {
+        try {
+            return disk.size();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "memory " + memory.size() / 1024 + "/" + memory.maxSize() / 1024 + " KiB, "
+                + getMemoryHitCount() + " hits, " + getMemoryMissCount() + " misses, "
+                + getMemoryEvictionCount() + " evictions; disk " + getDiskSize() / 1024 + "/"
+                + DISK_BYTES / 1024 + " KiB, " + getDiskHitCount() + " hits, "
+                + getDiskMissCount() + " misses";
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.videogamesapp;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+import android.net.ConnectivityManager;
+import android.os.SystemClock;
+import android.util.SparseArray;
+import android.view.View;
+
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.squareup.picasso.Picasso;
+
+/**
+ * Warms Picasso's cache with the covers just past the edge of a list, in the direction it
+ * is being scrolled. How far ahead depends on the scroll speed: enough rows to cover the
+ * next PREFETCH_HORIZON_MS of scrolling, between MIN_AHEAD and MAX_AHEAD, and never more
+ * than MIN_AHEAD on metered networks. Prefetches for rows that leave that window are
+ * cancelled. Requests match GameImages.loadThumbnail, so binding hits the memory cache.
+ * Must be used from the main thread.
+ */
+public class ImagePrefetcher extends RecyclerView.OnScrollListener {
+    private static final int MIN_AHEAD = 2;
+    private static final int MAX_AHEAD = 12;
+    private static final long PREFETCH_HORIZON_MS = 600;
+    // Weight of the newest sample in the smoothed scroll speed
+    private static final float SPEED_SMOOTHING = 0.3f;
+
+    /**
+     * Gives the cover URL of an adapter position without triggering any load
+     */
+    public interface UrlProvider {
+        /**
+         * @return The image URL, or null when the position has no loaded game
+         */
+        String imageUrlAt(int position);
+    }
+
+    private final UrlProvider urlProvider;
+    private final boolean metered;
+    // In-flight prefetches by adapter position; Picasso only keeps weak references to targets
+    private final SparseArray<PrefetchTarget> inFlight = new SparseArray<>();
+
+    private long lastScrollAt;
+    private float speedPxPerMs;
+
+    /**
+     * Starts prefetching for a list laid out by a LinearLayoutManager
+     */
+    public static ImagePrefetcher attach(RecyclerView recyclerView, UrlProvider urlProvider) {
+        ImagePrefetcher prefetcher = new ImagePrefetcher(recyclerView, urlProvider);
+        recyclerView.addOnScrollListener(prefetcher);
+        return prefetcher;
+    }
+
+    private ImagePrefetcher(RecyclerView recyclerView, UrlProvider urlProvider) {
+        this.urlProvider = urlProvider;
+        ConnectivityManager connectivity =
+                (ConnectivityManager) recyclerView.getContext().getSystemService(Context.CONNECTIVITY_SERVICE);
+        this.metered = connectivity != null && connectivity.isActiveNetworkMetered();
+    }
+
+    /**
+     * Stops prefetching for the list and cancels what is still in flight
+     */
+    public void detach(RecyclerView recyclerView) {
+        recyclerView.removeOnScrollListener(this);
+        cancelAll();
+    }
+
+    @Override
+    public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+        if (!(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) {
+            return;
+        }
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        int delta = layoutManager.getOrientation() == RecyclerView.HORIZONTAL ? dx : dy;
+        if (delta == 0) {
+            return;
+        }
+        long now = SystemClock.uptimeMillis();
+        if (lastScrollAt != 0 && now > lastScrollAt) {
+            float sample = Math.abs(delta) / (float) (now - lastScrollAt);
+            speedPxPerMs += SPEED_SMOOTHING * (sample - speedPxPerMs);
+        }
+        lastScrollAt = now;
+
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION) {
+            return;
+        }
+        int ahead = itemsAhead(recyclerView, layoutManager);
+        int from;
+        int to;
+        if (delta > 0) {
+            from = last + 1;
+            to = Math.min(last + ahead, layoutManager.getItemCount() - 1);
+        } else {
+            from = Math.max(first - ahead, 0);
+            to = first - 1;
+        }
+
+        cancelOutside(from, to);
+        for (int position = from; position <= to; position++) {
+            if (inFlight.get(position) == null) {
+                prefetch(recyclerView, position);
+            }
+        }
+    }
+
+    @Override
+    public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+        if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+            // The next fling starts from rest
+            lastScrollAt = 0;
+            speedPxPerMs = 0;
+        }
+    }
+
+    /**
+     * Cancels every pending prefetch, e.g. when the list is replaced
+     */
+    public void cancelAll() {
+        cancelOutside(0, -1);
+    }
+
+    private int itemsAhead(RecyclerView recyclerView, LinearLayoutManager layoutManager) {
+        if (metered) {
+            return MIN_AHEAD;
+        }
+        View child = recyclerView.getChildAt(0);
+        int itemSize = child == null ? 0 : layoutManager.getOrientation() == RecyclerView.HORIZONTAL
+                ? child.getWidth() : child.getHeight();
+        if (itemSize <= 0) {
+            return MIN_AHEAD;
+        }
+        int ahead = (int) Math.ceil(speedPxPerMs * PREFETCH_HORIZON_MS / itemSize);
+        return Math.max(MIN_AHEAD, Math.min(MAX_AHEAD, ahead));
+    }
+
+    private void prefetch(RecyclerView recyclerView, int position) {
+        String imageUrl = urlProvider.imageUrlAt(position);
+        if (imageUrl == null || imageUrl.isEmpty()) {
+            return;
+        }
+        PrefetchTarget target = new PrefetchTarget(position);
+        inFlight.put(position, target);
+        GameImages.thumbnailRequest(recyclerView.getResources(), imageUrl).into(target);
+    }
+
+    private void cancelOutside(int from, int to) {
+        for (int i = inFlight.size() - 1; i >= 0; i--) {
+            int position = inFlight.keyAt(i);
+            if (position < from || position > to) {
+                Picasso.get().cancelRequest(inFlight.valueAt(i));
+                inFlight.removeAt(i);
+            }
+        }
+    }
+
+    /**
+     * Receives a prefetched bitmap; Picasso has already put it in its memory cache
+     */
+    private class PrefetchTarget implements com.squareup.picasso.Target {
+        private final int position;
+
+        PrefetchTarget(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public void onBitmapLoaded(Bitmap bitmap, Picasso.LoadedFrom from) {
+            finished();
+        }
+
+        @Override
+        public void onBitmapFailed(Exception e, Drawable errorDrawable) {
+            finished();
+        }
+
+        @Override
+        public void onPrepareLoad(Drawable placeHolderDrawable) {
+        }
+
+        private void finished() {
+            if (inFlight.get(position) == this) {
+                inFlight.remove(position);
+            }
+        }
+    }
+}
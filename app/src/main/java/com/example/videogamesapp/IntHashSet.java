@@ -0,0 +1,185 @@
+package com.example.videogamesapp;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of ints backed by a single open-addressing table with linear probing.
+ * Lookups and updates neither box nor allocate; only growth reallocates the table.
+ * Not thread-safe.
+ */
+public class IntHashSet {
+    // Marks a free slot; the value 0 itself is tracked separately
+    private static final int EMPTY = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] slots;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    public IntHashSet() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * @param expectedSize Number of values the set holds without growing
+     */
+    public IntHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public boolean contains(int value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int[] table = slots;
+        for (int i = indexOf(value); ; i = (i + 1) & mask) {
+            int slot = table[i];
+            if (slot == value) {
+                return true;
+            }
+            if (slot == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return True if the value was not in the set yet
+     */
+    public boolean add(int value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int i = indexOf(value);
+        while (slots[i] != EMPTY) {
+            if (slots[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        slots[i] = value;
+        size++;
+        // Keep the table at most half full so probe sequences stay short
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * @return True if the value was in the set
+     */
+    public boolean remove(int value) {
+        if (value == EMPTY) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int i = indexOf(value);
+        while (slots[i] != value) {
+            if (slots[i] == EMPTY) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        // Backward-shift deletion: move later entries of the probe run into the hole,
+        // so no tombstones are needed and lookups never slow down after removals
+        int hole = i;
+        for (int j = (hole + 1) & mask; slots[j] != EMPTY; j = (j + 1) & mask) {
+            int home = indexOf(slots[j]);
+            boolean reachable = hole <= j ? (home <= hole || home > j) : (home <= hole && home > j);
+            if (reachable) {
+                slots[hole] = slots[j];
+                hole = j;
+            }
+        }
+        slots[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, EMPTY);
+        containsZero = false;
+        size = 0;
+    }
+
+    /**
+     * Visits every value, in no particular order. The set must not change meanwhile.
+     */
+    public void forEach(IntConsumer action) {
+        if (containsZero) {
+            action.accept(EMPTY);
+        }
+        for (int slot : slots) {
+            if (slot != EMPTY) {
+                action.accept(slot);
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[size];
+        int n = 0;
+        if (containsZero) {
+            values[n++] = EMPTY;
+        }
+        for (int slot : slots) {
+            if (slot != EMPTY) {
+                values[n++] = slot;
+            }
+        }
+        return values;
+    }
+
+    private int indexOf(int value) {
+        // Fibonacci hashing spreads sequential IDs across the table
+        int h = value * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        int[] old = slots;
+        allocate(capacity);
+        for (int value : old) {
+            if (value != EMPTY) {
+                int i = indexOf(value);
+                while (slots[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
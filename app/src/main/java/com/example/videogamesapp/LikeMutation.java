@@ -0,0 +1,27 @@
+package com.example.videogamesapp;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+
+/**
+ * A like or unlike not yet acknowledged by Firestore.
+ * One row per user and game: toggling the same game again replaces the row, so only the
+ * final state is ever written.
+ */
+@Entity(tableName = "like_mutation", primaryKeys = {"userId", "gameId"})
+public class LikeMutation {
+    @NonNull
+    public String userId;
+    public int gameId;
+    // Desired state: true to add the game to likedGames, false to remove it
+    public boolean liked;
+    // When the state was last changed, in epoch millis; tells a flushed row from a newer one
+    public long updatedAt;
+
+    public LikeMutation(@NonNull String userId, int gameId, boolean liked, long updatedAt) {
+        this.userId = userId;
+        this.gameId = gameId;
+        this.liked = liked;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.videogamesapp;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface LikeMutationDao {
+    @Query("SELECT * FROM like_mutation WHERE userId = :userId ORDER BY updatedAt")
+    List<LikeMutation> loadPending(String userId);
+
+    @Query("SELECT * FROM like_mutation WHERE userId = :userId AND gameId = :gameId")
+    LikeMutation load(String userId, int gameId);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsert(LikeMutation mutation);
+
+    /**
+     * Deletes a flushed mutation unless it was toggled again in the meantime
+     */
+    @Query("DELETE FROM like_mutation WHERE userId = :userId AND gameId = :gameId AND updatedAt = :updatedAt")
+    void deleteIfUnchanged(String userId, int gameId, long updatedAt);
+}
@@ -0,0 +1,292 @@
+package com.example.videogamesapp;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Write-behind log of like and unlike taps.
+ * Every tap is recorded in Room first, so it survives process death and offline periods,
+ * and shows in the UI right away through overlay(). Taps on the same game collapse into
+ * one row holding the final state. Pending rows are flushed to the user document shortly
+ * after the last tap, as one Firestore batch with a single arrayUnion and a single
+ * arrayRemove. A batch is committed once and its rows are deleted when Firestore
+ * acknowledges it, however long that takes offline; rejected batches are retried with
+ * exponential backoff. Commits and retries are recorded in NetworkMetrics.
+ * Used by UserStateStore, from the main thread.
+ */
+class LikeMutationQueue {
+    private static final String TAG = "LikeMutationQueue";
+
+    // Quiet period after a tap before flushing, so rapid toggles become one write
+    static final long FLUSH_DELAY_MS = 1000;
+    private static final long MIN_BACKOFF_MS = 2000;
+    private static final long MAX_BACKOFF_MS = 5 * 60 * 1000L;
+
+    /**
+     * Notified when the set of pending mutations changed outside of enqueue()
+     */
+    interface Listener {
+        void onPendingChanged();
+    }
+
+    private final LikeMutationDao dao;
+    private final AppDatabase database;
+    private final FirebaseFirestore firestore = FirebaseFirestore.getInstance();
+    private final TaskScheduler.Scope scope = TaskScheduler.getInstance().globalScope();
+    private final NetworkMetrics metrics = NetworkMetrics.getInstance();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Random jitter = new Random();
+    private final Listener listener;
+    private final Runnable flushRunnable = this::flush;
+    // Room writes run one at a time in submission order, see writeToRoom()
+    private final ArrayDeque<Runnable> roomWrites = new ArrayDeque<>();
+    private boolean writingToRoom;
+
+    private String userId;
+    // Pending mutations of the current user by game ID, in tap order
+    private final Map<Integer, LikeMutation> pending = new LinkedHashMap<>();
+    private long lastUpdatedAt;
+    private boolean flushing;
+    private int failedAttempts;
+
+    LikeMutationQueue(Context context, Listener listener) {
+        this.database = AppDatabase.getInstance(context);
+        this.dao = database.likeMutationDao();
+        this.listener = listener;
+    }
+
+    /**
+     * Switches to the signed-in user, or null after sign-out, and restores their
+     * mutations that were not flushed before the process last died
+     */
+    void setUser(String newUserId) {
+        userId = newUserId;
+        pending.clear();
+        failedAttempts = 0;
+        mainHandler.removeCallbacks(flushRunnable);
+        if (newUserId == null) {
+            return;
+        }
+        scope.io(TaskScheduler.PRIORITY_IMMEDIATE, () -> {
+            List<LikeMutation> stored = dao.loadPending(newUserId);
+            mainHandler.post(() -> {
+                if (!newUserId.equals(userId) || stored.isEmpty()) {
+                    return;
+                }
+                for (LikeMutation mutation : stored) {
+                    // Taps made since the lookup started are newer
+                    if (!pending.containsKey(mutation.gameId)) {
+                        pending.put(mutation.gameId, mutation);
+                    }
+                }
+                listener.onPendingChanged();
+                scheduleFlush(0);
+            });
+        });
+    }
+
+    /**
+     * Records the desired state of a game and schedules a flush
+     * @return False when no user is signed in
+     */
+    boolean enqueue(int gameId, boolean liked) {
+        if (userId == null) {
+            return false;
+        }
+        // Strictly increasing, so a flushed row is never confused with a newer tap
+        lastUpdatedAt = Math.max(System.currentTimeMillis(), lastUpdatedAt + 1);
+        LikeMutation mutation = new LikeMutation(userId, gameId, liked, lastUpdatedAt);
+        pending.remove(gameId);
+        pending.put(gameId, mutation);
+        writeToRoom(() -> persist(mutation));
+        if (failedAttempts == 0) {
+            scheduleFlush(FLUSH_DELAY_MS);
+        }
+        return true;
+    }
+
+    /**
+     * Applies the pending mutations to liked IDs received from Firestore
+     * @param serverIds Liked IDs of the last snapshot, in Firestore order
+     * @return The IDs as the user expects to see them; added games go last, like arrayUnion
+     */
+    List<Long> overlay(List<Long> serverIds) {
+        if (pending.isEmpty()) {
+            return serverIds;
+        }
+        List<Long> merged = new ArrayList<>(serverIds.size() + pending.size());
+        for (Long id : serverIds) {
+            LikeMutation mutation = pending.get(id.intValue());
+            if (mutation == null || mutation.liked) {
+                merged.add(id);
+            }
+        }
+        for (LikeMutation mutation : pending.values()) {
+            if (mutation.liked && !serverIds.contains((long) mutation.gameId)) {
+                merged.add((long) mutation.gameId);
+            }
+        }
+        return merged;
+    }
+
+    private void persist(LikeMutation mutation) {
+        // Rows restored by setUser() are written again by later taps: keep the newest
+        database.runInTransaction(() -> {
+            LikeMutation stored = dao.load(mutation.userId, mutation.gameId);
+            if (stored == null || stored.updatedAt < mutation.updatedAt) {
+                dao.upsert(mutation);
+            }
+        });
+    }
+
+    private void scheduleFlush(long delayMs) {
+        mainHandler.removeCallbacks(flushRunnable);
+        mainHandler.postDelayed(flushRunnable, delayMs);
+    }
+
+    /**
+     * Runs a Room write after all previously submitted ones, so the deletion of a flushed
+     * row can never overtake the write that created it and resurrect it
+     */
+    private void writeToRoom(Runnable write) {
+        synchronized (roomWrites) {
+            roomWrites.addLast(write);
+            if (writingToRoom) {
+                return;
+            }
+            writingToRoom = true;
+        }
+        scope.io(TaskScheduler.PRIORITY_IMMEDIATE, this::drainRoomWrites);
+    }
+
+    private void drainRoomWrites() {
+        while (true) {
+            Runnable write;
+            synchronized (roomWrites) {
+                write = roomWrites.pollFirst();
+                if (write == null) {
+                    writingToRoom = false;
+                    return;
+                }
+            }
+            try {
+                write.run();
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Writing like changes to Room failed", e);
+            }
+        }
+    }
+
+    private void flush() {
+        if (flushing || userId == null || pending.isEmpty()) {
+            return;
+        }
+        flushing = true;
+        String flushedUserId = userId;
+        List<LikeMutation> batch = new ArrayList<>(pending.values());
+        if (failedAttempts > 0) {
+            metrics.recordRetry(NetworkMetrics.FIRESTORE_LIKES_COMMIT);
+        }
+        NetworkMetrics.Call call = metrics.begin(NetworkMetrics.FIRESTORE_LIKES_COMMIT);
+        // Firestore queues the batch locally and sends it whenever it is online. Wait for
+        // this one commit rather than timing out and resubmitting copies of it.
+        commit(flushedUserId, batch).addOnCompleteListener(result -> {
+            if (!result.isSuccessful()) {
+                Log.w(TAG, "Flushing " + batch.size() + " like changes failed", result.getException());
+                call.fail(UserStateStore.firestoreErrorClass(result.getException()));
+                call.end();
+                onFlushed(flushedUserId, batch, false);
+                return;
+            }
+            call.end();
+            // Queued after the persist() of every mutation in the batch
+            writeToRoom(() -> {
+                try {
+                    database.runInTransaction(() -> {
+                        for (LikeMutation mutation : batch) {
+                            dao.deleteIfUnchanged(mutation.userId, mutation.gameId, mutation.updatedAt);
+                        }
+                    });
+                } finally {
+                    // Rows left behind are flushed again at the next sign-in, which is harmless
+                    mainHandler.post(() -> onFlushed(flushedUserId, batch, true));
+                }
+            });
+        });
+    }
+
+    /**
+     * Writes the batch as one arrayUnion and one arrayRemove. Both are idempotent, so a
+     * retry after a rejected commit is harmless.
+     * @return The commit, completed when Firestore acknowledged or rejected it
+     */
+    private Task<Void> commit(String uid, List<LikeMutation> batch) {
+        List<Integer> added = new ArrayList<>();
+        List<Integer> removed = new ArrayList<>();
+        for (LikeMutation mutation : batch) {
+            (mutation.liked ? added : removed).add(mutation.gameId);
+        }
+        DocumentReference userDocument = firestore.collection("users").document(uid);
+        WriteBatch writes = firestore.batch();
+        // Merged sets also create the document if it does not exist yet
+        if (!added.isEmpty()) {
+            writes.set(userDocument, Collections.singletonMap("likedGames", FieldValue.arrayUnion(added.toArray())),
+                    SetOptions.merge());
+        }
+        if (!removed.isEmpty()) {
+            writes.set(userDocument, Collections.singletonMap("likedGames", FieldValue.arrayRemove(removed.toArray())),
+                    SetOptions.merge());
+        }
+        return writes.commit();
+    }
+
+    private void onFlushed(String flushedUserId, List<LikeMutation> batch, boolean success) {
+        flushing = false;
+        if (!flushedUserId.equals(userId)) {
+            // Signed out meanwhile; what is left is flushed at the next sign-in
+            return;
+        }
+        if (!success) {
+            failedAttempts++;
+            scheduleFlush(backoffDelay(failedAttempts));
+            return;
+        }
+        failedAttempts = 0;
+        for (LikeMutation mutation : batch) {
+            // Keep games that were tapped again while the batch was in flight
+            if (pending.get(mutation.gameId) == mutation) {
+                pending.remove(mutation.gameId);
+            }
+        }
+        listener.onPendingChanged();
+        if (!pending.isEmpty()) {
+            scheduleFlush(FLUSH_DELAY_MS);
+        }
+    }
+
+    /**
+     * Exponential backoff with +-20% jitter, capped at MAX_BACKOFF_MS
+     */
+    private long backoffDelay(int attempt) {
+        long delay = MIN_BACKOFF_MS << Math.min(attempt - 1, 16);
+        delay = Math.min(delay, MAX_BACKOFF_MS);
+        return (long) (delay * (0.8 + 0.4 * jitter.nextDouble()));
+    }
+}
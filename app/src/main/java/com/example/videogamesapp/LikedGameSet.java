@@ -0,0 +1,118 @@
+package com.example.videogamesapp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The signed-in user's liked game IDs, shared by every screen.
+ * Backed by an IntHashSet so the like-state check in each bind is a constant-time,
+ * allocation-free probe. Updates are applied in place and reported per game ID, so
+ * adapters can rebind only the rows whose state changed. Must be used from the main thread.
+ */
+public class LikedGameSet {
+    private static LikedGameSet instance;
+
+    private final IntHashSet gameIds = new IntHashSet(64);
+    private final List<Listener> listeners = new ArrayList<>();
+    private boolean loaded;
+
+    /**
+     * Notified on the main thread for every game whose liked state changed
+     */
+    public interface Listener {
+        void onLikedStateChanged(int gameId, boolean liked);
+    }
+
+    public static synchronized LikedGameSet getInstance() {
+        if (instance == null) {
+            instance = new LikedGameSet();
+        }
+        return instance;
+    }
+
+    public boolean contains(int gameId) {
+        return gameIds.contains(gameId);
+    }
+
+    public int size() {
+        return gameIds.size();
+    }
+
+    /**
+     * @return Whether the set has received the user's liked games at least once
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return A copy of the liked IDs, in no particular order
+     */
+    public int[] toArray() {
+        return gameIds.toArray();
+    }
+
+    /**
+     * Applies a local like or unlike ahead of the Firestore round trip
+     */
+    public void setLiked(int gameId, boolean liked) {
+        boolean changed = liked ? gameIds.add(gameId) : gameIds.remove(gameId);
+        if (changed) {
+            notifyChanged(gameId, liked);
+        }
+    }
+
+    /**
+     * Replaces the contents with the likedGames array of the user document.
+     * Only the IDs that were added or removed are reported.
+     * @param likedGames Firestore values, null when the field is missing
+     */
+    public void replaceWith(List<Long> likedGames) {
+        loaded = true;
+        IntHashSet incoming = new IntHashSet(likedGames != null ? likedGames.size() : 0);
+        if (likedGames != null) {
+            for (int i = 0; i < likedGames.size(); i++) {
+                incoming.add(likedGames.get(i).intValue());
+            }
+        }
+
+        int[] current = gameIds.toArray();
+        for (int gameId : current) {
+            if (!incoming.contains(gameId)) {
+                gameIds.remove(gameId);
+                notifyChanged(gameId, false);
+            }
+        }
+        for (int gameId : incoming.toArray()) {
+            if (gameIds.add(gameId)) {
+                notifyChanged(gameId, true);
+            }
+        }
+    }
+
+    /**
+     * Forgets all IDs, e.g. on sign-out. Listeners are notified for each of them.
+     */
+    public void clear() {
+        loaded = false;
+        for (int gameId : gameIds.toArray()) {
+            gameIds.remove(gameId);
+            notifyChanged(gameId, false);
+        }
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyChanged(int gameId, boolean liked) {
+        // Backwards, so a listener may remove itself while being notified
+        for (int i = listeners.size() - 1; i >= 0; i--) {
+            listeners.get(i).onLikedStateChanged(gameId, liked);
+        }
+    }
+}
@@ -7,17 +7,9 @@ import androidx.recyclerview.widget.RecyclerView;
 import androidx.appcompat.app.AppCompatActivity;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FirebaseFirestore;
 
-import android.util.Log;
 import android.widget.Button;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 
 // Main activity that serves as the home screen of the application
 public class MainActivity extends AppCompatActivity {
@@ -33,59 +25,56 @@ public class MainActivity extends AppCompatActivity {
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_main);
+        StartupTrace.begin(StartupTrace.MAIN_CREATE);
+        try {
+            super.onCreate(savedInstanceState);
+            setContentView(R.layout.activity_main);
 
-        auth = FirebaseAuth.getInstance();
-        user = auth.getCurrentUser();
+            auth = FirebaseAuth.getInstance();
+            user = auth.getCurrentUser();
 
-        if (user == null) {
-            navigateToLogin();
-        } else {
-            initializeUserData();
-        }
+            if (user == null) {
+                navigateToLogin();
+                return;
+            }
 
-        setupRecyclerViews();
-        setupButtons();
-        fetchLikedGamesAndUpdateAdapters();
-    }
+            // Attaches the user document listener; it also creates the document on first sign-in
+            UserStateStore.getInstance(this);
 
-    private void initializeUserData() {
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        String userId = user.getUid();
-        db.collection("users").document(userId).get().addOnCompleteListener(task -> {
-            if (!task.isSuccessful() || task.getResult() == null || !task.getResult().exists()) {
-                Map<String, Object> userData = new HashMap<>();
-                userData.put("likedGames", new ArrayList<>());
-                db.collection("users").document(userId)
-                        .set(userData)
-                        .addOnSuccessListener(aVoid -> Log.d("MainActivity", "User document initialized"))
-                        .addOnFailureListener(e -> Log.w("MainActivity", "Error initializing user document", e));
-            }
-        });
+            setupRecyclerViews();
+            setupButtons();
+            // Marks time to full display once both catalog lists show content
+            StartupOrchestrator.getInstance().whenCatalogShown(this::reportFullyDrawn);
+        } finally {
+            StartupTrace.end();
+        }
     }
 
     private void setupRecyclerViews() {
-        featuredGamesRecyclerView = findViewById(R.id.featuredGamesRecyclerView);
-        genresRecyclerView = findViewById(R.id.genresRecyclerView);
-        newGamesRecyclerView = findViewById(R.id.newGamesRecyclerView);
+        StartupTrace.begin(StartupTrace.MAIN_SETUP_LISTS);
+        try {
+            featuredGamesRecyclerView = findViewById(R.id.featuredGamesRecyclerView);
+            genresRecyclerView = findViewById(R.id.genresRecyclerView);
+            newGamesRecyclerView = findViewById(R.id.newGamesRecyclerView);
 
 
-        featuredGamesRecyclerView.setLayoutManager(new LinearLayoutManager(this, LinearLayoutManager.HORIZONTAL, false));
-        genresRecyclerView.setLayoutManager(new LinearLayoutManager(this, LinearLayoutManager.HORIZONTAL, false));
-        newGamesRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+            featuredGamesRecyclerView.setLayoutManager(new LinearLayoutManager(this, LinearLayoutManager.HORIZONTAL, false));
+            genresRecyclerView.setLayoutManager(new LinearLayoutManager(this, LinearLayoutManager.HORIZONTAL, false));
+            newGamesRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+            newGamesRecyclerView.setRecycledViewPool(GameViewHolder.sharedPool(this));
 
-        GenresAdapter genresAdapter = new GenresAdapter();
-        genresRecyclerView.setAdapter(genresAdapter);
+            GenresAdapter genresAdapter = new GenresAdapter(MainActivity.this);
+            genresRecyclerView.setAdapter(genresAdapter);
 
-        featuredGamesAdapter = new FeaturedGamesAdapter(MainActivity.this, new ArrayList<>());
-        featuredGamesRecyclerView.setAdapter(featuredGamesAdapter);
+            featuredGamesAdapter = new FeaturedGamesAdapter(MainActivity.this);
+            featuredGamesRecyclerView.setAdapter(featuredGamesAdapter);
 
 
-        newGamesAdapter = new NewGamesAdapter(MainActivity.this, new ArrayList<>());
-        newGamesRecyclerView.setAdapter(newGamesAdapter);
-
-        fetchLikedGamesAndUpdateAdapters();
+            newGamesAdapter = new NewGamesAdapter(MainActivity.this);
+            newGamesRecyclerView.setAdapter(newGamesAdapter);
+        } finally {
+            StartupTrace.end();
+        }
     }
 
 
@@ -108,46 +97,17 @@ public class MainActivity extends AppCompatActivity {
             Intent intent = new Intent(MainActivity.this, SearchActivity.class);
             startActivity(intent);
         });
+
+        if (BuildConfig.DEBUG) {
+            findViewById(R.id.featuredGamesLabel).setOnLongClickListener(view -> {
+                startActivity(new Intent(MainActivity.this, DiagnosticsActivity.class));
+                return true;
+            });
+        }
     }
 
     private void navigateToLogin() {
         startActivity(new Intent(getApplicationContext(), Login.class));
         finish();
     }
-
-    private void fetchLikedGamesAndUpdateAdapters() {
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        String userId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-
-        db.collection("users").document(userId).get().addOnCompleteListener(task -> {
-            if (task.isSuccessful() && task.getResult() != null) {
-                DocumentSnapshot document = task.getResult();
-                if (document.exists()) {
-                    List<Long> likedGamesLong = (List<Long>) document.get("likedGames");
-                    List<Integer> likedGamesInt = new ArrayList<>();
-                    if (likedGamesLong != null) {
-                        for (Long id : likedGamesLong) {
-                            likedGamesInt.add(id.intValue());
-                        }
-                    }
-
-                    newGamesAdapter = new NewGamesAdapter(MainActivity.this, likedGamesInt);
-                    newGamesRecyclerView.setAdapter(newGamesAdapter);
-
-                    featuredGamesAdapter = new FeaturedGamesAdapter(MainActivity.this, likedGamesInt);
-                    featuredGamesRecyclerView.setAdapter(featuredGamesAdapter);
-                } else {
-                    Log.d("MainActivity", "No such document");
-                }
-            } else {
-                Log.d("MainActivity", "get failed with ", task.getException());
-            }
-        });
-    }
-
-    @Override
-    protected void onResume() {
-        super.onResume();
-        fetchLikedGamesAndUpdateAdapters();
-    }
 }
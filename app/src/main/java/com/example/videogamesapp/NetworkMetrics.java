@@ -0,0 +1,305 @@
+package com.example.videogamesapp;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import javax.net.ssl.SSLException;
+
+/**
+ * In-memory statistics of every RAWG and Firestore call, aggregated per endpoint.
+ * Each endpoint keeps a fixed-bucket latency histogram (p50/p95/p99 are read from it),
+ * the bytes received, cache hits/revalidations/misses, retries and failures by error
+ * class. Recording is a few increments under a per-endpoint lock, so it stays on in
+ * release builds. Read it with snapshot() or dump(); the debug screen shows the dump.
+ */
+public class NetworkMetrics {
+    public static final String RAWG_GAMES = "rawg GET /games";
+    public static final String RAWG_SEARCH = "rawg GET /games?search";
+    public static final String RAWG_GAME = "rawg GET /games/{id}";
+    public static final String FIRESTORE_USER_LISTEN = "firestore listen users/{uid}";
+    public static final String FIRESTORE_USER_INIT = "firestore set users/{uid}";
+    public static final String FIRESTORE_LIKES_COMMIT = "firestore batch users/{uid}";
+
+    // Upper bounds of the latency buckets in milliseconds; one more bucket takes the rest
+    static final long[] BUCKET_BOUNDS_MS = {
+            5, 10, 20, 35, 50, 75, 100, 150, 200, 300, 400, 500, 750,
+            1000, 1500, 2000, 3000, 5000, 7500, 10_000, 15_000, 20_000, 30_000
+    };
+
+    /**
+     * How a call was answered with respect to its local cache
+     */
+    public enum CacheResult {
+        // Served from the cache without touching the network
+        HIT,
+        // The cached copy was confirmed by the server (HTTP 304, or a Firestore server
+        // snapshot following one from the local cache)
+        REVALIDATED,
+        // Cached but not usable, or not cached: the body came from the server
+        MISS,
+        // The call has no cache
+        NONE
+    }
+
+    private static NetworkMetrics instance;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public static synchronized NetworkMetrics getInstance() {
+        if (instance == null) {
+            instance = new NetworkMetrics();
+        }
+        return instance;
+    }
+
+    /**
+     * Starts timing one call; finish it with Call.end() on whatever thread it completes
+     * @param endpoint One of the endpoint constants, never a URL with IDs in it
+     */
+    public Call begin(String endpoint) {
+        return new Call(this, endpoint, System.nanoTime());
+    }
+
+    /**
+     * Counts one more attempt of a call that failed before
+     */
+    public void recordRetry(String endpoint) {
+        Endpoint stats = endpoint(endpoint);
+        synchronized (stats) {
+            stats.retries++;
+        }
+    }
+
+    /**
+     * @return A copy of every endpoint's statistics, sorted by endpoint name
+     */
+    public List<EndpointSnapshot> snapshot() {
+        List<EndpointSnapshot> snapshots = new ArrayList<>();
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint stats = entry.getValue();
+            synchronized (stats) {
+                snapshots.add(new EndpointSnapshot(entry.getKey(), stats));
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * @return A plain-text table of every endpoint, one block per endpoint, stable between
+     *         runs so two dumps can be diffed
+     */
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        for (EndpointSnapshot endpoint : snapshot()) {
+            out.append(endpoint).append('\n');
+        }
+        return out.length() > 0 ? out.toString() : "No network calls recorded\n";
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * Names the failure of a call, e.g. "timeout" or "io"; Firestore callers pass their own
+     * error codes instead.
+     */
+    public static String errorClass(Throwable error) {
+        if (error instanceof ExecutionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        // SocketTimeoutException is itself an InterruptedIOException
+        if (error instanceof SocketTimeoutException || error instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (error instanceof InterruptedIOException || error instanceof InterruptedException) {
+            return "cancelled";
+        }
+        if (error instanceof UnknownHostException) {
+            return "dns";
+        }
+        if (error instanceof ConnectException) {
+            return "connect";
+        }
+        if (error instanceof SSLException) {
+            return "tls";
+        }
+        if (error instanceof IOException) {
+            return "io";
+        }
+        return error.getClass().getSimpleName();
+    }
+
+    private Endpoint endpoint(String name) {
+        Endpoint stats = endpoints.get(name);
+        if (stats == null) {
+            Endpoint created = new Endpoint();
+            stats = endpoints.putIfAbsent(name, created);
+            if (stats == null) {
+                stats = created;
+            }
+        }
+        return stats;
+    }
+
+    private void record(Call call, long durationMs) {
+        Endpoint stats = endpoint(call.endpoint);
+        synchronized (stats) {
+            stats.calls++;
+            stats.bytesIn += call.bytesIn;
+            stats.cacheResults[call.cacheResult.ordinal()]++;
+            if (call.errorClass != null) {
+                Integer count = stats.errors.get(call.errorClass);
+                stats.errors.put(call.errorClass, count != null ? count + 1 : 1);
+            }
+            // Cache hits never reach the network, keep them out of the latency figures
+            if (call.cacheResult != CacheResult.HIT) {
+                stats.latencyMs.add(durationMs);
+            }
+        }
+    }
+
+    /**
+     * One call in progress. Not thread-safe: fill it in from the thread running the call.
+     */
+    public static class Call {
+        private final NetworkMetrics metrics;
+        private final String endpoint;
+        private final long startNanos;
+        private long bytesIn;
+        private CacheResult cacheResult = CacheResult.NONE;
+        private String errorClass;
+        private boolean ended;
+
+        Call(NetworkMetrics metrics, String endpoint, long startNanos) {
+            this.metrics = metrics;
+            this.endpoint = endpoint;
+            this.startNanos = startNanos;
+        }
+
+        public void addBytesIn(long bytes) {
+            bytesIn += bytes;
+        }
+
+        public void setCacheResult(CacheResult cacheResult) {
+            this.cacheResult = cacheResult;
+        }
+
+        /**
+         * Marks the call as failed; the first failure reported wins, so a specific class
+         * such as an HTTP status is not replaced by the exception it is then thrown as
+         */
+        public void fail(Throwable error) {
+            fail(errorClass(error));
+        }
+
+        public void fail(String errorClass) {
+            if (this.errorClass == null) {
+                this.errorClass = errorClass;
+            }
+        }
+
+        /**
+         * Records the call; later calls are ignored
+         */
+        public void end() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            metrics.record(this, (System.nanoTime() - startNanos) / 1_000_000L);
+        }
+    }
+
+    /**
+     * Statistics of one endpoint, guarded by its own monitor
+     */
+    private static class Endpoint {
+        final Histogram latencyMs = new Histogram(BUCKET_BOUNDS_MS);
+        final int[] cacheResults = new int[CacheResult.values().length];
+        final Map<String, Integer> errors = new TreeMap<>();
+        int calls;
+        int retries;
+        long bytesIn;
+    }
+
+    /**
+     * A copy of one endpoint's statistics
+     */
+    public static class EndpointSnapshot {
+        public final String endpoint;
+        public final int calls;
+        public final int retries;
+        public final long bytesIn;
+        public final Map<String, Integer> errors;
+        private final Histogram latencyMs;
+        private final int[] cacheResults;
+
+        EndpointSnapshot(String endpoint, Endpoint stats) {
+            this.endpoint = endpoint;
+            this.calls = stats.calls;
+            this.retries = stats.retries;
+            this.bytesIn = stats.bytesIn;
+            this.errors = Collections.unmodifiableMap(new TreeMap<>(stats.errors));
+            this.latencyMs = stats.latencyMs.copy();
+            this.cacheResults = stats.cacheResults.clone();
+        }
+
+        public int getCount(CacheResult cacheResult) {
+            return cacheResults[cacheResult.ordinal()];
+        }
+
+        public int getFailures() {
+            int failures = 0;
+            for (int count : errors.values()) {
+                failures += count;
+            }
+            return failures;
+        }
+
+        /**
+         * @param percentile Between 0 and 100
+         * @return Upper bound of the bucket holding that percentile of the network latencies,
+         *         in milliseconds; 0 without timed calls
+         */
+        public long percentileMs(double percentile) {
+            return latencyMs.percentile(percentile);
+        }
+
+        public long meanMs() {
+            return latencyMs.mean();
+        }
+
+        public long maxMs() {
+            return latencyMs.getMax();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder(endpoint).append('\n');
+            out.append(String.format(Locale.US, "  calls=%d failures=%d retries=%d bytesIn=%d%n",
+                    calls, getFailures(), retries, bytesIn));
+            out.append(String.format(Locale.US, "  latencyMs p50<=%d p95<=%d p99<=%d mean=%d max=%d (n=%d)%n",
+                    percentileMs(50), percentileMs(95), percentileMs(99), meanMs(), maxMs(), latencyMs.getCount()));
+            out.append(String.format(Locale.US, "  cache hit=%d revalidated=%d miss=%d none=%d%n",
+                    getCount(CacheResult.HIT), getCount(CacheResult.REVALIDATED),
+                    getCount(CacheResult.MISS), getCount(CacheResult.NONE)));
+            if (!errors.isEmpty()) {
+                out.append("  errors ").append(errors).append('\n');
+            }
+            return out.toString();
+        }
+    }
+}
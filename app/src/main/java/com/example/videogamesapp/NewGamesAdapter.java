@@ -1,259 +1,145 @@
 package com.example.videogamesapp;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FieldValue;
-import com.google.firebase.firestore.FirebaseFirestore;
 import android.app.Activity;
-import android.content.Intent;
-import android.util.Log;
-import android.view.LayoutInflater;
-import android.view.View;
 import android.view.ViewGroup;
 import androidx.recyclerview.widget.RecyclerView;
-import org.json.JSONArray;
-import org.json.JSONObject;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.util.ArrayList;
 import java.util.List;
-import android.widget.CheckBox;
-import android.widget.ImageView;
-import android.widget.TextView;
-import com.squareup.picasso.Picasso;
 
 /**
  * Adapter class for displaying new games in a RecyclerView.
- * Handles the data collection and binding for both new games and their liked status.
+ * Games come from a GamePager; positions whose page is still loading show a placeholder.
+ * The pager notifies only the ranges a page load changes, so it needs no diffing.
  */
-public class NewGamesAdapter extends RecyclerView.Adapter<NewGamesAdapter.ViewHolder> {
+public class NewGamesAdapter extends RecyclerView.Adapter<GameViewHolder>
+        implements ImagePrefetcher.UrlProvider {
     // List to store new games data
-    private List<NewGame> newGames = new ArrayList<>();
-    // List to track which games are liked by the user
-    private List<Integer> likedGames = new ArrayList<>();
+    private final GamePager pager;
+    // Liked game IDs shared by all screens
+    private final LikedGameSet likedGames = LikedGameSet.getInstance();
+    private final LikedGameSet.Listener likedListener = (gameId, liked) -> notifyLikedStateChanged(gameId);
+    // Loads the covers about to scroll into view
+    private ImagePrefetcher imagePrefetcher;
+    // Times creates and binds, and the frames drawn while the list scrolls
+    private final BindProfiler.Probe bindProbe;
+    private BindProfiler.FrameTracker frameTracker;
     // Reference to the activity for context
     private Activity activity;
 
     /**
-     * Constructor that initializes the adapter with activity context and liked games
+     * Constructor that initializes the adapter with the home screen's new games
      * @param activity The activity context
-     * @param likedGames List of game IDs that the user has liked
      */
-    public NewGamesAdapter(Activity activity, List<Integer> likedGames) {
-        this.activity = activity;
-        this.likedGames = likedGames;
-        fetchNewGames();
-    }
-
-    /**
-     * Updates the games list and notifies the adapter of data changes
-     */
-    public void setGames(List<NewGame> games) {
-        this.newGames = games;
-        notifyDataSetChanged();
-    }
-
-    /**
-     * Updates the liked games list and refreshes the UI
-     */
-    public void updateLikedGames(List<Integer> likedGames) {
-        this.likedGames = likedGames;
-        notifyDataSetChanged();
+    public NewGamesAdapter(Activity activity) {
+        this(activity, GamePager.forNewGames(activity));
     }
 
     /**
-     * Alternative constructor that only requires activity context
+     * Constructor for screens that page through their own list, e.g. a genre
+     * @param activity The activity context
+     * @param pager Source of the games to display
      */
-    public NewGamesAdapter(Activity activity) {
+    public NewGamesAdapter(Activity activity, GamePager pager) {
         this.activity = activity;
-        fetchNewGames();
+        this.pager = pager;
+        this.bindProbe = BindProfiler.probe(activity, "NewGamesAdapter");
+        setHasStableIds(true);
+        pager.attach(this);
     }
 
-    /**
-     * Fetches new games from the RAWG API in a background thread
-     * Makes an HTTP request to get games released in 2023
-     */
-    private void fetchNewGames() {
-        new Thread(() -> {
-            try {
-                // Construct API URL with key and parameters
-                String urlString = "https://api.rawg.io/api/games?key=" + BuildConfig.RAWG_API_KEY + 
-                                 "&dates=2023-01-01,2023-12-31&ordering=-released&page_size=20";
-                URL url = new URL(urlString);
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setRequestMethod("GET");
-                connection.connect();
-
-                // Read the response
-                BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                StringBuilder builder = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    builder.append(line);
-                }
-
-                // Parse JSON response and create NewGame objects
-                JSONObject response = new JSONObject(builder.toString());
-                JSONArray gamesArray = response.getJSONArray("results");
-                for (int i = 0; i < gamesArray.length(); i++) {
-                    JSONObject game = gamesArray.getJSONObject(i);
-                    int gameId = game.getInt("id");
-                    String name = game.getString("name");
-                    String imageUrl = game.optString("background_image", "");
-                    String description = game.optString("description", "");
-                    NewGame newGame = new NewGame(gameId, name, imageUrl, description);
-                    newGames.add(newGame);
-                }
-
-                // Preload images using Picasso
-                for (NewGame newGame : newGames) {
-                    Picasso.get().load(newGame.getImageUrl()).fetch();
-                }
-
-                // Update UI on main thread
-                activity.runOnUiThread(() -> notifyDataSetChanged());
-            } catch (Exception e) {
-                Log.e("NewGamesAdapter", "Error fetching new games", e);
-            }
-        }).start();
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        likedGames.addListener(likedListener);
+        imagePrefetcher = ImagePrefetcher.attach(recyclerView, this);
+        frameTracker = bindProbe.trackFrames(activity, recyclerView);
     }
 
-    /**
-     * Creates new ViewHolder instances for the RecyclerView
-     */
     @Override
-    public ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
-        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_new_game, parent, false);
-        return new ViewHolder(view);
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        likedGames.removeListener(likedListener);
+        imagePrefetcher.detach(recyclerView);
+        imagePrefetcher = null;
+        frameTracker.detach(recyclerView);
+        frameTracker = null;
     }
 
-    /**
-     * Updates Firestore database with user's liked/unliked games
-     */
-    private void updateFirestoreLikedGames(FirebaseFirestore db, String userId, int gameId, boolean add) {
-        if (add) {
-            db.collection("users").document(userId)
-                    .update("likedGames", FieldValue.arrayUnion(gameId))
-                    .addOnSuccessListener(aVoid -> Log.d("Firestore", "Game added to favorites"))
-                    .addOnFailureListener(e -> Log.e("Firestore", "Error adding game to favorites", e));
-        } else {
-            db.collection("users").document(userId)
-                    .update("likedGames", FieldValue.arrayRemove(gameId))
-                    .addOnSuccessListener(aVoid -> Log.d("Firestore", "Game removed from favorites"))
-                    .addOnFailureListener(e -> Log.e("Firestore", "Error removing game from favorites", e));
-        }
+    @Override
+    public void onViewAttachedToWindow(GameViewHolder holder) {
+        DetailPrefetcher.getInstance(activity).onRowShown((int) holder.getItemId());
     }
 
-    /**
-     * Updates both games list and liked status simultaneously
-     */
-    public void setGamesAndLikedStatus(List<NewGame> games, List<Integer> likedGamesInt) {
-        this.newGames = games;
-        this.likedGames = likedGamesInt;
-        notifyDataSetChanged();
+    @Override
+    public void onViewDetachedFromWindow(GameViewHolder holder) {
+        DetailPrefetcher.getInstance(activity).onRowHidden((int) holder.getItemId());
     }
 
-    /**
-     * Adds a game to the user's favorites in Firestore
-     */
-    private void addGameToFavorites(int gameId) {
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        String userId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-        db.collection("users").document(userId)
-                .update("likedGames", FieldValue.arrayUnion(gameId))
-                .addOnSuccessListener(aVoid -> Log.d("Firestore", "Game added to favorites"))
-                .addOnFailureListener(e -> Log.e("Firestore", "Error adding game to favorites", e));
+    @Override
+    public String imageUrlAt(int position) {
+        NewGame game = pager.peekItem(position);
+        return game != null ? game.getImageUrl() : null;
     }
 
     /**
-     * Removes a game from the user's favorites in Firestore
+     * Refreshes only the like button of the rows showing the game
      */
-    private void removeGameFromFavorites(int gameId) {
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        String userId = FirebaseAuth.getInstance().getCurrentUser().getUid();
-        db.collection("users").document(userId)
-                .update("likedGames", FieldValue.arrayRemove(gameId))
-                .addOnSuccessListener(aVoid -> Log.d("Firestore", "Game removed from favorites"))
-                .addOnFailureListener(e -> Log.e("Firestore", "Error removing game from favorites", e));
+    private void notifyLikedStateChanged(int gameId) {
+        pager.forEachPositionOf(gameId, position -> notifyItemChanged(position, GameViewHolder.PAYLOAD_LIKED));
     }
 
-    /**
-     * Binds game data to the ViewHolder and sets up click listeners
-     */
     @Override
-    public void onBindViewHolder(ViewHolder holder, int position) {
-        NewGame newGame = newGames.get(position);
-
-        // Set basic game information
-        holder.tvGameId.setText(newGame.getGameName());
-        holder.tvGameDescription.setText(newGame.getDescription());
-        Picasso.get().load(newGame.getImageUrl()).resize(100, 100).into(holder.ivGameImage);
-
-        // Reset the checkbox listener
-        holder.btnLike.setOnCheckedChangeListener(null);
-
-        // Set the liked status
-        boolean isLiked = likedGames.contains(newGame.getGameId());
-        holder.btnLike.setChecked(isLiked);
-
-        // Set up the like button listener
-        holder.btnLike.setOnCheckedChangeListener((buttonView, isChecked) -> {
-            if (isChecked) {
-                addGameToFavorites(newGame.getGameId());
-            } else {
-                removeGameFromFavorites(newGame.getGameId());
-            }
-        });
+    public int getItemViewType(int position) {
+        return GameViewHolder.VIEW_TYPE;
+    }
 
-        // Set up click listener for the entire item
-        holder.itemView.setOnClickListener(v -> {
-            // Launch game details activity with game information
-            Intent intent = new Intent(activity, GameDetailsActivity.class);
-            intent.putExtra("GAME_ID", newGame.getGameId());
-            intent.putExtra("GAME_NAME", newGame.getGameName());
-            intent.putExtra("GAME_IMAGE_URL", newGame.getImageUrl());
-            intent.putExtra("GAME_DESCRIPTION", newGame.getDescription());
-            activity.startActivity(intent);
-        });
+    @Override
+    public GameViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        long start = bindProbe.start();
+        GameViewHolder holder = GameViewHolder.create(parent);
+        bindProbe.endCreate(holder, viewType, start);
+        return holder;
     }
 
     /**
-     * ViewHolder class for caching view references
+     * Binds a game, or a placeholder while its page loads
      */
-    public static class ViewHolder extends RecyclerView.ViewHolder {
-        TextView tvGameId;
-        ImageView ivGameImage;
-        TextView tvGameDescription;
-        CheckBox btnLike;
-
-        public ViewHolder(View itemView) {
-            super(itemView);
-            tvGameId = itemView.findViewById(R.id.tvGameId);
-            ivGameImage = itemView.findViewById(R.id.ivGameImage);
-            tvGameDescription = itemView.findViewById(R.id.tvGameDescription);
-            btnLike = itemView.findViewById(R.id.btnLike);
-
-            btnLike.setButtonDrawable(R.drawable.heart_checkbox_selector);
+    @Override
+    public void onBindViewHolder(GameViewHolder holder, int position) {
+        NewGame newGame = pager.getItem(position);
+        if (newGame == null) {
+            holder.bindPlaceholder();
+            return;
+        }
+        // A placeholder filled in place is not attached again, so report its game now
+        boolean wasPlaceholder = !holder.isBound();
+        holder.bind(newGame);
+        if (wasPlaceholder && holder.itemView.isAttachedToWindow()) {
+            DetailPrefetcher.getInstance(activity).onRowShown(newGame.getGameId());
         }
     }
 
-    /**
-     * Utility class for managing boolean values
-     */
-    public class MutableBoolean {
-        private boolean value;
-
-        public MutableBoolean(boolean value) {
-            this.value = value;
+    @Override
+    public void onBindViewHolder(GameViewHolder holder, int position, List<Object> payloads) {
+        long start = bindProbe.start();
+        try {
+            if (payloads.contains(GameViewHolder.PAYLOAD_LIKED) && holder.isBound()) {
+                NewGame newGame = pager.getItem(position);
+                if (newGame != null) {
+                    holder.bindLikeState(newGame.getGameId());
+                    return;
+                }
+            }
+            onBindViewHolder(holder, position);
+        } finally {
+            bindProbe.endBind(holder, payloads, start);
         }
+    }
 
-        public boolean getValue() {
-            return value;
-        }
+    @Override
+    public void onViewRecycled(GameViewHolder holder) {
+        holder.unbind();
+    }
 
-        public void setValue(boolean value) {
-            this.value = value;
-        }
+    @Override
+    public long getItemId(int position) {
+        return pager.getItemId(position);
     }
 
     /**
@@ -261,6 +147,6 @@ public class NewGamesAdapter extends RecyclerView.Adapter<NewGamesAdapter.ViewHo
      */
     @Override
     public int getItemCount() {
-        return newGames.size();
+        return pager.getItemCount();
     }
 }
\ No newline at end of file
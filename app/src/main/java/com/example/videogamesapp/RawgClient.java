@@ -0,0 +1,484 @@
+package com.example.videogamesapp;
+
+import android.content.Context;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Shared client for the RAWG Video Games Database API.
+ * All screens go through the same instance so that HttpURLConnection's keep-alive pool
+ * hands out already-negotiated TLS connections to api.rawg.io instead of opening a new one
+ * per request. Every response body is fully read and closed, which is what returns the
+ * socket to the pool. Bodies are decoded while they stream in by RawgJsonParser, and are
+ * kept in a RawgResponseCache so repeated requests can be answered or revalidated locally.
+ * Every call is timed and counted per endpoint in a NetworkMetrics.
+ */
+public class RawgClient {
+    public static final String DEFAULT_BASE_URL = "https://api.rawg.io/api/";
+    public static final int DEFAULT_CONNECT_TIMEOUT_MS = 10_000;
+    public static final int DEFAULT_READ_TIMEOUT_MS = 15_000;
+    // Idle connections kept per host by the platform pool
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+
+    private static RawgClient instance;
+
+    /**
+     * Decodes a response body as it is read from the connection
+     */
+    public interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    private final String baseUrl;
+    private final String apiKey;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+
+    private RawgResponseCache responseCache;
+    // Private to this client unless the process-wide metrics are set
+    private NetworkMetrics metrics = new NetworkMetrics();
+
+    /**
+     * @return The process-wide client configured with the RAWG key from BuildConfig,
+     *         backed by a response cache in the app's cache directory
+     */
+    public static synchronized RawgClient getInstance(Context context) {
+        if (instance == null) {
+            configureConnectionPool(DEFAULT_MAX_IDLE_CONNECTIONS);
+            instance = new RawgClient(DEFAULT_BASE_URL, BuildConfig.RAWG_API_KEY,
+                    DEFAULT_CONNECT_TIMEOUT_MS, DEFAULT_READ_TIMEOUT_MS);
+            instance.setResponseCache(RawgResponseCache.create(context));
+            instance.setMetrics(NetworkMetrics.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a client against an arbitrary base URL, e.g. a local mock server in tests.
+     * @param baseUrl Base URL ending with a slash
+     * @param apiKey RAWG API key appended to every request
+     * @param connectTimeoutMs Connect timeout in milliseconds
+     * @param readTimeoutMs Read timeout in milliseconds
+     */
+    public RawgClient(String baseUrl, String apiKey, int connectTimeoutMs, int readTimeoutMs) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.apiKey = apiKey;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.readTimeoutMs = readTimeoutMs;
+    }
+
+    /**
+     * Sets the cache shared by all requests of this client, or null to disable caching
+     */
+    public void setResponseCache(RawgResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    public RawgResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Sets where the latency, bytes, cache results and failures of requests are recorded
+     */
+    public void setMetrics(NetworkMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public NetworkMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Enables keep-alive and sizes the HttpURLConnection idle pool.
+     * These are process-wide settings read by the platform HTTP stack.
+     */
+    public static void configureConnectionPool(int maxIdleConnections) {
+        System.setProperty("http.keepAlive", "true");
+        System.setProperty("http.maxConnections", String.valueOf(maxIdleConnections));
+    }
+
+    /**
+     * Lists games from /games with the given query parameters (dates, ordering, genres, ...)
+     * @param params Query parameters, without the API key
+     * @return The parsed page
+     */
+    public GamePage listGames(Map<String, String> params) throws IOException {
+        return listGames(params, null);
+    }
+
+    /**
+     * Lists games from /games, abortable through the token
+     * @param token Cancelling it disconnects the request, which then throws an IOException
+     */
+    public GamePage listGames(Map<String, String> params, CancellationToken token) throws IOException {
+        return get(new URL(buildUrl("games", params)), "games", params, RawgJsonParser::readGamePage, token);
+    }
+
+    /**
+     * Follows a RAWG pagination cursor (the "next" URL of a previous page)
+     * @param nextUrl Absolute URL returned by RAWG, it already carries the API key
+     */
+    public GamePage listGamesAt(String nextUrl) throws IOException {
+        return listGamesAt(nextUrl, null);
+    }
+
+    /**
+     * Follows a RAWG pagination cursor, abortable through the token
+     * @param token Cancelling it disconnects the request, which then throws an IOException
+     */
+    public GamePage listGamesAt(String nextUrl, CancellationToken token) throws IOException {
+        if (!nextUrl.startsWith(baseUrl)) {
+            throw new IOException("Refusing to follow cursor outside " + baseUrl);
+        }
+        return get(new URL(nextUrl), "games", null, RawgJsonParser::readGamePage, token);
+    }
+
+    /**
+     * Searches games by name with an optional genre filter
+     * @param query Search text
+     * @param genreId RAWG genre ID, or -1 for no filter
+     */
+    public GamePage searchGames(String query, int genreId) throws IOException {
+        return searchGames(query, genreId, null);
+    }
+
+    /**
+     * Searches games by name, abortable through the token
+     * @param token Cancelling it disconnects the request, which then throws an IOException
+     */
+    public GamePage searchGames(String query, int genreId, CancellationToken token) throws IOException {
+        Map<String, String> params = searchParams(query, genreId);
+        return get(new URL(buildUrl("games", params)), "games", params, RawgJsonParser::readGamePage, token);
+    }
+
+    /**
+     * Query parameters of a search, shared with the repository's cache key
+     */
+    public static Map<String, String> searchParams(String query, int genreId) {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("search", query);
+        if (genreId != -1) {
+            params.put("genres", String.valueOf(genreId));
+        }
+        return params;
+    }
+
+    /**
+     * Fetches the full record of a single game, including its description
+     * @param gameId RAWG game ID
+     */
+    public NewGame getGame(int gameId) throws IOException {
+        return getGame(gameId, null);
+    }
+
+    /**
+     * Fetches the full record of a single game, abortable through the token
+     * @param token Cancelling it disconnects the request; may be null
+     */
+    public NewGame getGame(int gameId, CancellationToken token) throws IOException {
+        String path = "games/" + gameId;
+        return get(new URL(buildUrl(path, null)), path, null, body -> RawgJsonParser.readGame(body, gameId), token);
+    }
+
+    /**
+     * @return True when getGame() would be answered from the response cache without
+     *         touching the network. Reads the disk cache: call from a background thread.
+     */
+    public boolean hasFreshGame(int gameId) {
+        if (responseCache == null) {
+            return false;
+        }
+        RawgResponseCache.Entry cached = responseCache.get(buildUrl("games/" + gameId, null));
+        return cached != null && cached.isFresh(System.currentTimeMillis());
+    }
+
+    /**
+     * Builds the absolute request URL for a path and its query parameters
+     */
+    String buildUrl(String path, Map<String, String> params) {
+        StringBuilder url = new StringBuilder(baseUrl).append(path).append("?key=").append(encode(apiKey));
+        if (params != null) {
+            for (Map.Entry<String, String> param : params.entrySet()) {
+                url.append('&').append(encode(param.getKey())).append('=').append(encode(param.getValue()));
+            }
+        }
+        return url.toString();
+    }
+
+    /**
+     * Performs a GET request through the response cache and records it in the metrics
+     */
+    private <T> T get(URL url, String path, Map<String, String> params, BodyReader<T> bodyReader,
+                      CancellationToken token) throws IOException {
+        NetworkMetrics.Call call = metrics.begin(endpointFor(path, url));
+        try {
+            return exchange(url, path, params, bodyReader, token, call);
+        } catch (IOException | RuntimeException e) {
+            call.fail(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+    }
+
+    /**
+     * Metrics endpoint of a request: IDs and search terms are left out so calls aggregate
+     */
+    static String endpointFor(String path, URL url) {
+        if (path.startsWith("games/")) {
+            return NetworkMetrics.RAWG_GAME;
+        }
+        String query = url.getQuery();
+        if (query != null && (query.startsWith("search=") || query.contains("&search="))) {
+            return NetworkMetrics.RAWG_SEARCH;
+        }
+        return NetworkMetrics.RAWG_GAMES;
+    }
+
+    /**
+     * A fresh cached body is decoded without touching the network; an expired one is
+     * revalidated with If-None-Match / If-Modified-Since and reused on 304.
+     */
+    private <T> T exchange(URL url, String path, Map<String, String> params, BodyReader<T> bodyReader,
+                           CancellationToken token, NetworkMetrics.Call call) throws IOException {
+        String cacheKey = url.toString();
+        RawgResponseCache.Entry cached = responseCache != null ? responseCache.get(cacheKey) : null;
+        if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+            call.setCacheResult(NetworkMetrics.CacheResult.HIT);
+            return bodyReader.read(new ByteArrayInputStream(cached.body));
+        }
+        if (responseCache != null) {
+            call.setCacheResult(NetworkMetrics.CacheResult.MISS);
+        }
+
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        if (token != null) {
+            token.setOnCancel(connection::disconnect);
+            if (token.isCancelled()) {
+                throw new InterruptedIOException("RAWG request to /" + path + " was cancelled");
+            }
+        }
+        connection.setRequestMethod("GET");
+        connection.setConnectTimeout(connectTimeoutMs);
+        connection.setReadTimeout(readTimeoutMs);
+        connection.setRequestProperty("Accept", "application/json");
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+        connection.setRequestProperty("Connection", "keep-alive");
+        if (cached != null) {
+            if (cached.etag != null) {
+                connection.setRequestProperty("If-None-Match", cached.etag);
+            }
+            if (cached.lastModified != null) {
+                connection.setRequestProperty("If-Modified-Since", cached.lastModified);
+            }
+        }
+        try {
+            int code = connection.getResponseCode();
+            if (code == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+                call.setCacheResult(NetworkMetrics.CacheResult.REVALIDATED);
+                responseCache.markRevalidated(cacheKey, cached, System.currentTimeMillis());
+                return bodyReader.read(new ByteArrayInputStream(cached.body));
+            }
+            if (code < 200 || code >= 300) {
+                // Drain the error body so the connection can still be reused
+                InputStream error = connection.getErrorStream();
+                if (error != null) {
+                    try {
+                        drain(error);
+                    } finally {
+                        error.close();
+                    }
+                }
+                call.fail("http_" + code);
+                throw new IOException("RAWG request to /" + path + " failed with HTTP " + code);
+            }
+
+            long ttlMs = responseCache != null ? cacheLifetime(connection, path, params) : -1;
+            InputStream body = openBody(connection, call);
+            // Copy the bytes aside while the reader streams them, to store them afterwards
+            CapturingInputStream capture = ttlMs >= 0 ? new CapturingInputStream(body, RawgResponseCache.MAX_ENTRY_BYTES) : null;
+            try {
+                T result = bodyReader.read(capture != null ? capture : body);
+                // Consume anything the reader left behind so the socket can be pooled
+                drain(capture != null ? capture : body);
+                if (capture != null && !capture.overflowed()) {
+                    responseCache.put(cacheKey, new RawgResponseCache.Entry(capture.toByteArray(),
+                            connection.getHeaderField("ETag"), connection.getHeaderField("Last-Modified"),
+                            System.currentTimeMillis(), ttlMs));
+                }
+                return result;
+            } finally {
+                body.close();
+            }
+        } catch (IOException e) {
+            // A failed exchange leaves the socket in an unknown state, don't pool it
+            connection.disconnect();
+            if (token != null && token.isCancelled()) {
+                throw new InterruptedIOException("RAWG request to /" + path + " was cancelled");
+            }
+            throw e;
+        } finally {
+            if (token != null) {
+                token.setOnCancel(null);
+            }
+        }
+    }
+
+    /**
+     * Freshness lifetime of a response: Cache-Control when RAWG sends one, otherwise the
+     * per-endpoint policy of the cache.
+     * @return Lifetime in milliseconds, 0 to always revalidate, -1 when it must not be stored
+     */
+    private long cacheLifetime(HttpURLConnection connection, String path, Map<String, String> params) {
+        String cacheControl = connection.getHeaderField("Cache-Control");
+        if (cacheControl != null) {
+            for (String directive : cacheControl.toLowerCase().split(",")) {
+                directive = directive.trim();
+                if (directive.equals("no-store")) {
+                    return -1;
+                }
+                if (directive.equals("no-cache")) {
+                    return 0;
+                }
+                if (directive.startsWith("max-age=")) {
+                    try {
+                        return Long.parseLong(directive.substring("max-age=".length())) * 1000L;
+                    } catch (NumberFormatException ignored) {
+                        // fall back to the policy
+                    }
+                }
+            }
+        }
+        return responseCache.ttlFor(path, params);
+    }
+
+    /**
+     * Opens the response body, unwrapping gzip when the server honoured Accept-Encoding.
+     * Setting Accept-Encoding explicitly turns off the platform's transparent decompression,
+     * so it has to be done here. The bytes received, before decompression, go to the call.
+     */
+    static InputStream openBody(HttpURLConnection connection, NetworkMetrics.Call call) throws IOException {
+        InputStream body = new CountingInputStream(connection.getInputStream(), call);
+        if ("gzip".equalsIgnoreCase(connection.getContentEncoding())) {
+            return new GZIPInputStream(body);
+        }
+        return body;
+    }
+
+    /**
+     * Passes a stream through while adding the bytes read to a call's metrics
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private final NetworkMetrics.Call call;
+
+        CountingInputStream(InputStream in, NetworkMetrics.Call call) {
+            super(in);
+            this.call = call;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                call.addBytesIn(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                call.addBytesIn(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            call.addBytesIn(skipped);
+            return skipped;
+        }
+    }
+
+    /**
+     * Passes a stream through while keeping a copy of up to maxBytes of it
+     */
+    private static class CapturingInputStream extends FilterInputStream {
+        private final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        private final int maxBytes;
+        private boolean overflowed;
+
+        CapturingInputStream(InputStream in, int maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                capture(new byte[]{(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                capture(buffer, offset, read);
+            }
+            return read;
+        }
+
+        private void capture(byte[] buffer, int offset, int length) {
+            if (overflowed) {
+                return;
+            }
+            if (copy.size() + length > maxBytes) {
+                overflowed = true;
+                copy.reset();
+                return;
+            }
+            copy.write(buffer, offset, length);
+        }
+
+        boolean overflowed() {
+            return overflowed;
+        }
+
+        byte[] toByteArray() {
+            return copy.toByteArray();
+        }
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[8192];
+        while (in.read(buffer) != -1) {
+            // discard
+        }
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value != null ? value : "", "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
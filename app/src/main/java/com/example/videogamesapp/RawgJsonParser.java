@@ -0,0 +1,111 @@
+package com.example.videogamesapp;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pull-based decoder for RAWG responses.
+ * Reads games straight from the response stream and skips every field the app does not
+ * display (platforms, stores, tags, screenshots, ...), so no intermediate JSON tree or
+ * full-body string is ever built.
+ */
+public final class RawgJsonParser {
+
+    private RawgJsonParser() {
+    }
+
+    /**
+     * Decodes a list response ({@code count}, {@code next}, {@code results[]}).
+     * @param in Response body, closed by the caller
+     */
+    public static GamePage readGamePage(InputStream in) throws IOException {
+        JsonReader reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<NewGame> games = new ArrayList<>();
+        String next = null;
+        int count = -1;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "count":
+                    count = reader.nextInt();
+                    break;
+                case "next":
+                    next = nextStringOrNull(reader);
+                    break;
+                case "results":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        games.add(readGame(reader, -1));
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new GamePage(games, next, count >= 0 ? count : games.size());
+    }
+
+    /**
+     * Decodes a single game response from /games/{id}.
+     * @param in Response body, closed by the caller
+     * @param gameId ID used when the body does not carry one
+     */
+    public static NewGame readGame(InputStream in, int gameId) throws IOException {
+        return readGame(new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8)), gameId);
+    }
+
+    private static NewGame readGame(JsonReader reader, int gameId) throws IOException {
+        int id = gameId;
+        String name = null;
+        String imageUrl = "";
+        String description = "";
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = reader.nextInt();
+                    break;
+                case "name":
+                    name = nextStringOrNull(reader);
+                    break;
+                case "background_image":
+                    imageUrl = orEmpty(nextStringOrNull(reader));
+                    break;
+                case "description":
+                    description = orEmpty(nextStringOrNull(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (id == -1 || name == null) {
+            throw new IOException("RAWG game object without id or name");
+        }
+        return new NewGame(id, name, imageUrl, description);
+    }
+
+    private static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.videogamesapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Two-tier cache of RAWG response bodies shared by every RawgClient call.
+ * A byte-bounded LRU keeps recent bodies in memory; a byte-bounded directory keeps them
+ * across process restarts. Entries carry their ETag / Last-Modified validators so an
+ * expired entry is revalidated with a conditional request instead of downloaded again.
+ * How long an entry is served without asking RAWG is decided per endpoint by a TtlPolicy,
+ * unless the response's Cache-Control says otherwise.
+ */
+public class RawgResponseCache {
+    private static final String TAG = "RawgResponseCache";
+    private static final int DISK_FORMAT_VERSION = 1;
+
+    public static final int DEFAULT_MEMORY_BYTES = 2 * 1024 * 1024;
+    public static final long DEFAULT_DISK_BYTES = 10 * 1024 * 1024L;
+    // Bodies larger than this are never cached
+    public static final int MAX_ENTRY_BYTES = 1024 * 1024;
+
+    /**
+     * Decides how long a response stays fresh, per endpoint
+     */
+    public interface TtlPolicy {
+        /**
+         * @param path Request path relative to the API base, e.g. "games" or "games/3498"
+         * @param params Query parameters of the request, may be null
+         * @return Freshness lifetime in milliseconds
+         */
+        long ttlFor(String path, Map<String, String> params);
+    }
+
+    /**
+     * Game details change rarely, list orderings do, search results the most
+     */
+    public static final TtlPolicy DEFAULT_TTL_POLICY = (path, params) -> {
+        if (path.startsWith("games/")) {
+            return GameRepository.GAME_MAX_AGE_MS;
+        }
+        if (params != null && params.containsKey("search")) {
+            return GameRepository.SEARCH_MAX_AGE_MS;
+        }
+        return GameRepository.LIST_MAX_AGE_MS;
+    };
+
+    /**
+     * A cached response body with its validators
+     */
+    public static class Entry {
+        final byte[] body;
+        final String etag;
+        final String lastModified;
+        volatile long storedAt;
+        final long ttlMs;
+
+        Entry(byte[] body, String etag, String lastModified, long storedAt, long ttlMs) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.storedAt = storedAt;
+            this.ttlMs = ttlMs;
+        }
+
+        boolean isFresh(long now) {
+            return now - storedAt < ttlMs;
+        }
+
+        boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+    }
+
+    private final File directory;
+    private final long maxDiskBytes;
+    private final int maxMemoryBytes;
+    private final TtlPolicy ttlPolicy;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private int memoryBytes;
+
+    public static RawgResponseCache create(Context context) {
+        return new RawgResponseCache(new File(context.getCacheDir(), "rawg-http"),
+                DEFAULT_DISK_BYTES, DEFAULT_MEMORY_BYTES, DEFAULT_TTL_POLICY);
+    }
+
+    /**
+     * @param directory Directory of the disk tier, created if needed; null for memory only
+     * @param maxDiskBytes Byte budget of the disk tier
+     * @param maxMemoryBytes Byte budget of the memory tier
+     * @param ttlPolicy Per-endpoint freshness lifetimes
+     */
+    public RawgResponseCache(File directory, long maxDiskBytes, int maxMemoryBytes, TtlPolicy ttlPolicy) {
+        this.directory = directory;
+        this.maxDiskBytes = maxDiskBytes;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.ttlPolicy = ttlPolicy;
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            Log.w(TAG, "Cannot create cache directory " + directory);
+        }
+    }
+
+    public long ttlFor(String path, Map<String, String> params) {
+        return ttlPolicy.ttlFor(path, params);
+    }
+
+    /**
+     * Looks a response up in memory, then on disk
+     * @return The entry, fresh or not, or null when nothing is cached
+     */
+    public Entry get(String key) {
+        synchronized (this) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        Entry entry = readFromDisk(key);
+        if (entry != null) {
+            putInMemory(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Stores a response in both tiers
+     */
+    public void put(String key, Entry entry) {
+        if (entry.body.length > MAX_ENTRY_BYTES) {
+            return;
+        }
+        putInMemory(key, entry);
+        writeToDisk(key, entry);
+    }
+
+    /**
+     * Marks an entry as fresh again after RAWG answered 304 Not Modified
+     */
+    public void markRevalidated(String key, Entry entry, long now) {
+        entry.storedAt = now;
+        writeToDisk(key, entry);
+    }
+
+    public synchronized void remove(String key) {
+        Entry removed = memory.remove(key);
+        if (removed != null) {
+            memoryBytes -= removed.body.length;
+        }
+        if (directory != null) {
+            //noinspection ResultOfMethodCallIgnored
+            fileFor(key).delete();
+        }
+    }
+
+    /**
+     * Drops the memory tier, e.g. under memory pressure. The disk tier is kept.
+     */
+    public synchronized void clearMemory() {
+        memory.clear();
+        memoryBytes = 0;
+    }
+
+    private synchronized void putInMemory(String key, Entry entry) {
+        Entry previous = memory.put(key, entry);
+        if (previous != null) {
+            memoryBytes -= previous.body.length;
+        }
+        memoryBytes += entry.body.length;
+        Iterator<Map.Entry<String, Entry>> eldest = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+            memoryBytes -= eldest.next().getValue().body.length;
+            eldest.remove();
+        }
+    }
+
+    private Entry readFromDisk(String key) {
+        if (directory == null) {
+            return null;
+        }
+        File file = fileFor(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != DISK_FORMAT_VERSION || !key.equals(in.readUTF())) {
+                return null;
+            }
+            String etag = readNullableUTF(in);
+            String lastModified = readNullableUTF(in);
+            long storedAt = in.readLong();
+            long ttlMs = in.readLong();
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            // Touch so the disk tier trims least recently used files first
+            //noinspection ResultOfMethodCallIgnored
+            file.setLastModified(System.currentTimeMillis());
+            return new Entry(body, etag, lastModified, storedAt, ttlMs);
+        } catch (IOException e) {
+            Log.w(TAG, "Dropping unreadable cache file " + file, e);
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+            return null;
+        }
+    }
+
+    private synchronized void writeToDisk(String key, Entry entry) {
+        if (directory == null) {
+            return;
+        }
+        File file = fileFor(key);
+        File temp = new File(directory, file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(DISK_FORMAT_VERSION);
+            out.writeUTF(key);
+            writeNullableUTF(out, entry.etag);
+            writeNullableUTF(out, entry.lastModified);
+            out.writeLong(entry.storedAt);
+            out.writeLong(entry.ttlMs);
+            out.writeInt(entry.body.length);
+            out.write(entry.body);
+        } catch (IOException e) {
+            Log.w(TAG, "Cannot write cache file " + file, e);
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+        }
+        trimDisk();
+    }
+
+    /**
+     * Deletes the least recently used files until the directory fits its budget
+     */
+    private void trimDisk() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= maxDiskBytes) {
+            return;
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            if (total <= maxDiskBytes) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    private File fileFor(String key) {
+        return new File(directory, hash(key));
+    }
+
+    private static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+            return String.format("%040x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void writeNullableUTF(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableUTF(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -1,7 +1,8 @@
 package com.example.videogamesapp;
 
-import android.os.AsyncTask;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.util.Log;
 import android.widget.Button;
 import android.widget.EditText;
@@ -12,25 +13,20 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.ArrayList;
-
-import org.json.JSONArray;
-import org.json.JSONObject;
+import java.util.List;
 
 /**
  * Activity that handles game searching functionality with optional genre filtering.
- * Uses the RAWG Video Games Database API to fetch search results.
+ * Searches run as the user types through a SearchController.
  */
 public class SearchActivity extends AppCompatActivity {
     // UI Components
     private RecyclerView searchResultsRecyclerView;
-    private SearchResultsAdapter searchResultsAdapter;
+    private GameListAdapter searchResultsAdapter;
     private Spinner genreSpinner;
     private EditText searchBar;
+    private SearchController searchController;
 
     // Tracks the currently selected genre ID for filtering (-1 means no filter)
     private int selectedGenre = -1;
@@ -51,21 +47,48 @@ public class SearchActivity extends AppCompatActivity {
         
         // Set up RecyclerView with vertical scrolling layout
         searchResultsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        searchResultsRecyclerView.setRecycledViewPool(GameViewHolder.sharedPool(this));
 
         // Set up button click listeners
         btnFilter.setOnClickListener(v -> showGenreFilterDialog());
 
-        // Search button click handler
-        btnSearch.setOnClickListener(v -> {
-            String query = searchBar.getText().toString();
-            if (selectedGenre == -1) {
-                // Search without genre filter
-                new FetchSearchResultsTask().execute(query, "");
-            } else {
-                // Search with genre filter
-                new FetchSearchResultsTask().execute(query, String.valueOf(selectedGenre));
+        searchController = new SearchController(this, new SearchController.Listener() {
+            @Override
+            public void onResults(String query, List<NewGame> results) {
+                showSearchResults(query, results);
+            }
+
+            @Override
+            public void onSearchFailed(String query, Exception e) {
+                Log.e("SearchActivity", "Error fetching search results", e);
+            }
+        });
+
+        // Search as the user types; the controller debounces and cancels stale requests
+        this.searchBar = searchBar;
+        searchBar.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                searchController.onQueryChanged(s.toString(), selectedGenre);
             }
         });
+
+        // Search button click handler skips the debounce
+        btnSearch.setOnClickListener(v -> searchController.searchNow(searchBar.getText().toString(), selectedGenre));
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        searchController.cancel();
     }
 
     /**
@@ -84,7 +107,10 @@ public class SearchActivity extends AppCompatActivity {
         builder.setSingleChoiceItems(genres, selectedGenre, (dialog, which) -> selectedGenre = genreIds[which]);
 
         // Add dialog buttons
-        builder.setPositiveButton("OK", (dialog, which) -> dialog.dismiss());
+        builder.setPositiveButton("OK", (dialog, which) -> {
+            dialog.dismiss();
+            searchController.searchNow(searchBar.getText().toString(), selectedGenre);
+        });
         builder.setNegativeButton("Cancel", (dialog, which) -> dialog.dismiss());
 
         AlertDialog dialog = builder.create();
@@ -92,72 +118,30 @@ public class SearchActivity extends AppCompatActivity {
     }
 
     /**
-     * AsyncTask to fetch search results from the RAWG API in the background.
-     * Prevents blocking the UI thread during network operations.
+     * Displays search results, reusing the adapter across searches.
+     * @param query The query the results belong to
+     * @param searchResults Games matching the query
      */
-    private class FetchSearchResultsTask extends AsyncTask<String, Void, ArrayList<NewGame>> {
-        @Override
-        protected ArrayList<NewGame> doInBackground(String... params) {
-            String query = params[0];
-            String genreId = params.length > 1 ? params[1] : "";
-            ArrayList<NewGame> searchResults = new ArrayList<>();
-
-            try {
-                // Build API URL with search parameters and optional genre filter
-                String urlString = "https://api.rawg.io/api/games?key=" + BuildConfig.RAWG_API_KEY + "&search=" + query;
-                if (!genreId.isEmpty()) {
-                    urlString += "&genres=" + genreId;
-                }
-
-                // Set up and execute HTTP request
-                URL url = new URL(urlString);
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setRequestMethod("GET");
-
-                // Read response
-                BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                StringBuilder builder = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    builder.append(line);
-                }
-
-                // Parse JSON response
-                JSONObject response = new JSONObject(builder.toString());
-                JSONArray gamesArray = response.getJSONArray("results");
-
-                // Convert JSON data to NewGame objects
-                for (int i = 0; i < gamesArray.length(); i++) {
-                    JSONObject game = gamesArray.getJSONObject(i);
-                    int gameId = game.getInt("id");
-                    String name = game.getString("name");
-                    String imageUrl = game.optString("background_image", "");
-                    String description = game.optString("description", "Description not available.");
-                    searchResults.add(new NewGame(gameId, name, imageUrl, description));
-                }
-            } catch (Exception e) {
-                Log.e("FetchSearchResultsTask", "Error fetching search results", e);
-            }
-
-            return searchResults;
-        }
+    private void showSearchResults(String query, List<NewGame> searchResults) {
+        // Games without a description keep an empty one, so their details screen loads it
+        List<NewGame> displayed = new ArrayList<>(searchResults);
 
-        @Override
-        protected void onPostExecute(ArrayList<NewGame> searchResults) {
-            super.onPostExecute(searchResults);
-
-            if (searchResults.isEmpty()) {
-                // Show message if no results found
-                Toast.makeText(SearchActivity.this, "No results found", Toast.LENGTH_LONG).show();
-            } else {
-                // Initialize or update RecyclerView adapter with search results
-                if (searchResultsAdapter == null) {
-                    searchResultsAdapter = new SearchResultsAdapter(SearchActivity.this, searchResults, new ArrayList<>());
-                    searchResultsRecyclerView.setAdapter(searchResultsAdapter);
-                } else {
-                    searchResultsAdapter.updateSearchResultsAndLikedGames(searchResults, new ArrayList<>());
-                }
+        if (displayed.isEmpty()) {
+            if (!query.isEmpty()) {
+                Toast.makeText(SearchActivity.this, "No results found", Toast.LENGTH_SHORT).show();
+            }
+            if (searchResultsAdapter != null) {
+                searchResultsAdapter.submitList(displayed);
+            }
+        } else {
+            // Initialize or update RecyclerView adapter with search results
+            if (searchResultsAdapter == null) {
+                searchResultsAdapter = new GameListAdapter(SearchActivity.this);
+                searchResultsAdapter.setEmptyDescription("Description not available.");
+                searchResultsRecyclerView.setAdapter(searchResultsAdapter);
             }
+            // Diffed against the previous results, so rows shared by both keep their covers
+            searchResultsAdapter.submitList(displayed);
         }
     }
-}
\ No newline at end of file
+}
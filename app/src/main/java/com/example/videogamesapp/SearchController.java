@@ -0,0 +1,231 @@
+package com.example.videogamesapp;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.LruCache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * As-you-type search pipeline for SearchActivity.
+ * Text changes are debounced; a new query cancels the RAWG call of the one it supersedes,
+ * identical queries issued while one is in flight share that request, and recent
+ * (query, genre) results are kept in an LRU so backspacing is answered from memory.
+ * Games already cached in Room are shown from the full-text index before RAWG answers,
+ * and the remote results are then merged in without duplicates.
+ * Only results for the latest query are ever delivered. Must be used from the main thread.
+ * Keystroke-to-results latencies of all searches are shown on the diagnostics screen.
+ */
+public class SearchController {
+    public static final long DEBOUNCE_MS = 300;
+    private static final int RESULT_CACHE_SIZE = 32;
+    private static final int LOCAL_RESULT_LIMIT = 20;
+
+    private final GameRepository repository;
+    private final TaskScheduler.Scope scope;
+    private final Listener listener;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final LruCache<String, List<NewGame>> resultCache = new LruCache<>(RESULT_CACHE_SIZE);
+    private final Map<String, InFlight> inFlight = new HashMap<>();
+
+    // The query the user is currently waiting for
+    private String latestKey;
+    private long latestKeystrokeAt;
+    private Runnable pendingSearch;
+
+    // Keystroke-to-results latencies in milliseconds of every screen, guarded by itself
+    private static final Histogram latenciesMs = new Histogram(NetworkMetrics.BUCKET_BOUNDS_MS);
+
+    /**
+     * Receives search outcomes on the main thread
+     */
+    public interface Listener {
+        void onResults(String query, List<NewGame> results);
+
+        void onSearchFailed(String query, Exception e);
+    }
+
+    private static class InFlight {
+        final CancellationToken token = new CancellationToken();
+    }
+
+    public SearchController(Context context, Listener listener) {
+        this.repository = GameRepository.getInstance(context);
+        this.scope = TaskScheduler.getInstance().scopeFor(context);
+        this.listener = listener;
+    }
+
+    /**
+     * Called on every text change; the search starts once typing pauses
+     */
+    public void onQueryChanged(String query, int genreId) {
+        latestKeystrokeAt = SystemClock.elapsedRealtime();
+        if (pendingSearch != null) {
+            mainHandler.removeCallbacks(pendingSearch);
+        }
+        pendingSearch = () -> {
+            pendingSearch = null;
+            search(query, genreId);
+        };
+        mainHandler.postDelayed(pendingSearch, DEBOUNCE_MS);
+    }
+
+    /**
+     * Searches immediately, e.g. on the search button or a genre change
+     */
+    public void searchNow(String query, int genreId) {
+        latestKeystrokeAt = SystemClock.elapsedRealtime();
+        if (pendingSearch != null) {
+            mainHandler.removeCallbacks(pendingSearch);
+            pendingSearch = null;
+        }
+        search(query, genreId);
+    }
+
+    private void search(String rawQuery, int genreId) {
+        String query = rawQuery.trim();
+        String key = genreId + ":" + query.toLowerCase();
+        latestKey = key;
+
+        // Superseded requests are of no use anymore
+        cancelAllExcept(key);
+
+        if (query.isEmpty()) {
+            deliver(key, query, new ArrayList<>());
+            return;
+        }
+
+        List<NewGame> cached = resultCache.get(key);
+        if (cached != null) {
+            deliver(key, query, cached);
+            return;
+        }
+
+        if (inFlight.containsKey(key)) {
+            // Identical query already running, its result will be delivered
+            return;
+        }
+
+        InFlight request = new InFlight();
+        inFlight.put(key, request);
+        // The user is waiting on this one: ahead of page prefetches and hydration
+        scope.io(TaskScheduler.PRIORITY_IMMEDIATE, request.token, () -> {
+            // Local full-text hits first; the genre filter needs RAWG since Room has no genres
+            List<NewGame> localHits = genreId == -1
+                    ? repository.searchLocal(query, LOCAL_RESULT_LIMIT)
+                    : new ArrayList<>();
+            if (!localHits.isEmpty()) {
+                scope.postToMain(() -> deliver(key, query, localHits));
+            }
+            try {
+                List<NewGame> remote = repository.searchGamesNow(query, genreId, request.token);
+                List<NewGame> results = merge(localHits, remote);
+                scope.postToMain(() -> {
+                    inFlight.remove(key, request);
+                    resultCache.put(key, results);
+                    deliver(key, query, results);
+                });
+            } catch (Exception e) {
+                scope.postToMain(() -> {
+                    inFlight.remove(key, request);
+                    // Offline with local hits: those stay on screen
+                    if (!request.token.isCancelled() && key.equals(latestKey) && localHits.isEmpty()) {
+                        listener.onSearchFailed(query, e);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Keeps the local hits where they are and appends remote results not already shown
+     */
+    static List<NewGame> merge(List<NewGame> localHits, List<NewGame> remote) {
+        List<NewGame> merged = new ArrayList<>(localHits.size() + remote.size());
+        Set<Integer> seen = new HashSet<>();
+        for (NewGame game : localHits) {
+            if (seen.add(game.getGameId())) {
+                merged.add(game);
+            }
+        }
+        for (NewGame game : remote) {
+            if (seen.add(game.getGameId())) {
+                merged.add(game);
+            }
+        }
+        return merged;
+    }
+
+    private void deliver(String key, String query, List<NewGame> results) {
+        // Late answers to older queries must not overwrite newer results
+        if (!key.equals(latestKey)) {
+            return;
+        }
+        // Only the first answer to a keystroke counts towards latency
+        if (latestKeystrokeAt != 0) {
+            recordLatency(SystemClock.elapsedRealtime() - latestKeystrokeAt);
+            latestKeystrokeAt = 0;
+        }
+        listener.onResults(query, results);
+    }
+
+    private void cancelAllExcept(String key) {
+        List<String> superseded = new ArrayList<>();
+        for (Map.Entry<String, InFlight> entry : inFlight.entrySet()) {
+            if (!entry.getKey().equals(key)) {
+                entry.getValue().token.cancel();
+                superseded.add(entry.getKey());
+            }
+        }
+        for (String supersededKey : superseded) {
+            inFlight.remove(supersededKey);
+        }
+    }
+
+    /**
+     * Cancels the pending and running searches, e.g. when the screen is destroyed
+     */
+    public void cancel() {
+        if (pendingSearch != null) {
+            mainHandler.removeCallbacks(pendingSearch);
+            pendingSearch = null;
+        }
+        latestKey = null;
+        cancelAllExcept("");
+        inFlight.clear();
+    }
+
+    private static void recordLatency(long latencyMs) {
+        synchronized (latenciesMs) {
+            latenciesMs.add(latencyMs);
+        }
+    }
+
+    /**
+     * @return The keystroke-to-results latencies as one line; percentiles are bucket bounds
+     */
+    public static String report() {
+        synchronized (latenciesMs) {
+            if (latenciesMs.getCount() == 0) {
+                return "No searches measured\n";
+            }
+            return String.format(Locale.US, "keystroke_to_results_ms n=%d mean=%d p50<=%d p95<=%d p99<=%d max=%d%n",
+                    latenciesMs.getCount(), latenciesMs.mean(), latenciesMs.percentile(50),
+                    latenciesMs.percentile(95), latenciesMs.percentile(99), latenciesMs.getMax());
+        }
+    }
+
+    public static void reset() {
+        synchronized (latenciesMs) {
+            latenciesMs.clear();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.videogamesapp;
+
+import android.content.Context;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.google.firebase.auth.FirebaseAuth;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Starts the home screen's data at process start instead of when MainActivity gets to it.
+ * The featured list, the first page of new games and the user document listener are all
+ * started at once from Application.onCreate, in parallel with the activity launch. Their
+ * results are held until the home screen takes them, and it shows whatever has arrived in
+ * its first frame. Records the time from process start to the first content shown per
+ * source, logged and available from getTimings(). Must be used from the main thread.
+ */
+public class StartupOrchestrator {
+    private static final String TAG = "StartupOrchestrator";
+
+    public static final String SOURCE_FEATURED = "featured";
+    public static final String SOURCE_NEW_GAMES = "newGames";
+    public static final String SOURCE_USER_DOCUMENT = "userDocument";
+
+    private static StartupOrchestrator instance;
+
+    private final long processStartedAt = Process.getStartUptimeMillis();
+    private final Replay<GameRepository.GamesCallback> featured = new Replay<>();
+    private final Replay<GameRepository.PageCallback> newGamesFirstPage = new Replay<>();
+    // Milliseconds from process start to the first content shown, by source
+    private final Map<String, Long> timings = new LinkedHashMap<>();
+    private final List<Runnable> catalogShownActions = new ArrayList<>();
+    private boolean started;
+
+    public static synchronized StartupOrchestrator getInstance() {
+        if (instance == null) {
+            instance = new StartupOrchestrator();
+        }
+        return instance;
+    }
+
+    private StartupOrchestrator() {
+    }
+
+    /**
+     * Starts every home screen source in parallel. Does nothing when no user is signed in,
+     * since the home screen is not shown then.
+     */
+    public void start(Context context) {
+        if (started || FirebaseAuth.getInstance().getCurrentUser() == null) {
+            return;
+        }
+        started = true;
+        for (String source : new String[]{SOURCE_FEATURED, SOURCE_NEW_GAMES, SOURCE_USER_DOCUMENT}) {
+            StartupTrace.beginAsync(StartupTrace.FIRST_CONTENT_PREFIX + source, source.hashCode());
+        }
+        GameRepository repository = GameRepository.getInstance(context);
+        TaskScheduler.Scope scope = TaskScheduler.getInstance().globalScope();
+
+        // Callbacks arrive on the main thread through the scope; content is recorded once shown
+        repository.loadFeaturedGames(scope, (games, fromNetwork) -> featured.emit(callback -> {
+            callback.onGamesLoaded(games, fromNetwork);
+            record(SOURCE_FEATURED);
+        }));
+        repository.loadPage(scope, TaskScheduler.PRIORITY_IMMEDIATE, GameRepository.LIST_NEW_GAMES,
+                GameRepository.newGamesParams(), 0, GamePager.DEFAULT_PAGE_SIZE, new GameRepository.PageCallback() {
+                    @Override
+                    public void onPageLoaded(int page, List<NewGame> games, boolean hasNext, boolean fromNetwork) {
+                        newGamesFirstPage.emit(callback -> {
+                            callback.onPageLoaded(page, games, hasNext, fromNetwork);
+                            record(SOURCE_NEW_GAMES);
+                        });
+                    }
+
+                    @Override
+                    public void onStalePageLoaded(int page, List<NewGame> games, boolean hasNext) {
+                        newGamesFirstPage.emit(callback -> {
+                            callback.onStalePageLoaded(page, games, hasNext);
+                            record(SOURCE_NEW_GAMES);
+                        });
+                    }
+
+                    @Override
+                    public void onPageFailed(int page, Exception e) {
+                        newGamesFirstPage.emit(callback -> callback.onPageFailed(page, e));
+                    }
+                });
+
+        // Attaches the user document listener
+        UserStateStore userState = UserStateStore.getInstance(context);
+        userState.addListener(new UserStateStore.Listener() {
+            @Override
+            public void onLikedGamesChanged(List<Long> likedGames) {
+                userState.removeListener(this);
+                record(SOURCE_USER_DOCUMENT);
+            }
+        });
+    }
+
+    /**
+     * Hands the featured list loaded at startup to the home screen
+     * @param context The screen; the callback is dropped when it is destroyed
+     * @return False when it was not started or was already taken; load it directly then
+     */
+    public boolean takeFeatured(Context context, GameRepository.GamesCallback callback) {
+        return started && featured.take(context, callback);
+    }
+
+    /**
+     * Hands the first page loaded at startup to the pager of a list, if it is the one
+     * @param context The screen; the callback is dropped when it is destroyed
+     * @return False unless this is the new games list with the default page size, and the
+     *         page was not taken yet; load it directly then
+     */
+    public boolean takeFirstPage(Context context, String listKey, int pageSize, GameRepository.PageCallback callback) {
+        if (!started || !GameRepository.LIST_NEW_GAMES.equals(listKey) || pageSize != GamePager.DEFAULT_PAGE_SIZE) {
+            return false;
+        }
+        return newGamesFirstPage.take(context, callback);
+    }
+
+    /**
+     * Runs the action once both catalog lists have shown content, e.g. to report the
+     * home screen fully drawn. Never runs if startup was not orchestrated.
+     */
+    public void whenCatalogShown(Runnable action) {
+        if (timings.containsKey(SOURCE_FEATURED) && timings.containsKey(SOURCE_NEW_GAMES)) {
+            action.run();
+        } else {
+            catalogShownActions.add(action);
+        }
+    }
+
+    /**
+     * @return Milliseconds from process start to the first content shown, by source
+     */
+    public Map<String, Long> getTimings() {
+        return Collections.unmodifiableMap(timings);
+    }
+
+    private void record(String source) {
+        if (timings.containsKey(source)) {
+            return;
+        }
+        long elapsed = SystemClock.uptimeMillis() - processStartedAt;
+        timings.put(source, elapsed);
+        StartupTrace.endAsync(StartupTrace.FIRST_CONTENT_PREFIX + source, source.hashCode());
+        Log.i(TAG, "Time to first content of " + source + ": " + elapsed + " ms");
+
+        if (timings.containsKey(SOURCE_FEATURED) && timings.containsKey(SOURCE_NEW_GAMES)) {
+            List<Runnable> actions = new ArrayList<>(catalogShownActions);
+            catalogShownActions.clear();
+            for (Runnable action : actions) {
+                action.run();
+            }
+        }
+    }
+
+    /**
+     * Buffers the callbacks of a load until its consumer arrives, then forwards them
+     * until the consumer's screen is destroyed
+     */
+    private static class Replay<C> {
+        private final List<Consumer<C>> events = new ArrayList<>();
+        private C consumer;
+        private boolean taken;
+
+        void emit(Consumer<C> event) {
+            if (consumer != null) {
+                event.accept(consumer);
+            } else if (!taken) {
+                events.add(event);
+            }
+        }
+
+        /**
+         * @return False if a consumer already took the load
+         */
+        boolean take(Context context, C newConsumer) {
+            if (taken) {
+                return false;
+            }
+            taken = true;
+            consumer = newConsumer;
+            if (context instanceof LifecycleOwner) {
+                ((LifecycleOwner) context).getLifecycle().addObserver((LifecycleEventObserver) (source, event) -> {
+                    if (event == Lifecycle.Event.ON_DESTROY) {
+                        consumer = null;
+                    }
+                });
+            }
+            for (Consumer<C> event : events) {
+                event.accept(newConsumer);
+            }
+            events.clear();
+            return true;
+        }
+    }
+}
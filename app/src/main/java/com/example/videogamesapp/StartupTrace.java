@@ -0,0 +1,102 @@
+package com.example.videogamesapp;
+
+/**
+ * Trace sections around the startup phases, visible in Perfetto / systrace and in
+ * Macrobenchmark's TraceSectionMetric. Sections on the main thread nest; async sections
+ * span threads and callbacks, e.g. from process start to a list's first content.
+ * Everything goes through a Sink, so tests can record the markers without a device.
+ */
+public final class StartupTrace {
+    public static final String APPLICATION_CREATE = "Startup.Application.onCreate";
+    public static final String IMAGE_CACHE_INSTALL = "Startup.ImageCache.install";
+    public static final String ORCHESTRATOR_START = "Startup.Orchestrator.start";
+    public static final String LOGIN_CREATE = "Startup.Login.onCreate";
+    public static final String MAIN_CREATE = "Startup.MainActivity.onCreate";
+    public static final String MAIN_SETUP_LISTS = "Startup.MainActivity.setupRecyclerViews";
+    public static final String DETAILS_CREATE = "Startup.GameDetails.onCreate";
+    // Async: from the orchestrator's start to the first content shown, suffixed by source
+    public static final String FIRST_CONTENT_PREFIX = "Startup.firstContent.";
+
+    /**
+     * Receives the markers
+     */
+    interface Sink {
+        void begin(String section);
+
+        void end();
+
+        void beginAsync(String section, int cookie);
+
+        void endAsync(String section, int cookie);
+    }
+
+    // androidx.tracing falls back to reflection for async sections before API 29
+    private static final Sink PLATFORM = new Sink() {
+        @Override
+        public void begin(String section) {
+            androidx.tracing.Trace.beginSection(section);
+        }
+
+        @Override
+        public void end() {
+            androidx.tracing.Trace.endSection();
+        }
+
+        @Override
+        public void beginAsync(String section, int cookie) {
+            androidx.tracing.Trace.beginAsyncSection(section, cookie);
+        }
+
+        @Override
+        public void endAsync(String section, int cookie) {
+            androidx.tracing.Trace.endAsyncSection(section, cookie);
+        }
+    };
+
+    private static volatile Sink sink = PLATFORM;
+
+    private StartupTrace() {
+    }
+
+    /**
+     * Opens a section on the current thread; close it with end() on the same thread
+     */
+    public static void begin(String section) {
+        sink.begin(section);
+    }
+
+    public static void end() {
+        sink.end();
+    }
+
+    /**
+     * Runs work inside a section, closing it even if the work throws
+     */
+    public static void section(String section, Runnable work) {
+        sink.begin(section);
+        try {
+            work.run();
+        } finally {
+            sink.end();
+        }
+    }
+
+    /**
+     * Opens a section that may be closed on another thread or in a later callback
+     * @param cookie Tells apart concurrent sections with the same name
+     */
+    public static void beginAsync(String section, int cookie) {
+        sink.beginAsync(section, cookie);
+    }
+
+    public static void endAsync(String section, int cookie) {
+        sink.endAsync(section, cookie);
+    }
+
+    /**
+     * Replaces the platform tracer, or restores it when null; for tests
+     */
+    static void setSink(Sink newSink) {
+        sink = newSink != null ? newSink : PLATFORM;
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.videogamesapp;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide background scheduler.
+ * Blocking I/O (RAWG, Room, disk) and CPU work (diffing, merging) run on two separate
+ * bounded pools, so a burst of slow requests never starves list diffing and the total
+ * thread count stays fixed no matter how often screens are recreated.
+ * Queued tasks run by priority, then in submission order.
+ * Work is submitted through a Scope. A scope obtained for an Activity is cancelled when
+ * that Activity is destroyed: its queued tasks are dropped, the CancellationTokens of its
+ * running tasks are cancelled and its pending main-thread callbacks are discarded, so
+ * nothing keeps the Activity alive or works for it after it is gone.
+ */
+public final class TaskScheduler {
+    private static final String TAG = "TaskScheduler";
+
+    // Lower values run first
+    public static final int PRIORITY_IMMEDIATE = 0;
+    public static final int PRIORITY_DEFAULT = 1;
+    public static final int PRIORITY_PREFETCH = 2;
+
+    // Enough parallel requests for a screen of images and pages, without flooding RAWG
+    private static final int IO_THREADS = 4;
+    private static final int CPU_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    private static final long IDLE_THREAD_TIMEOUT_S = 30;
+
+    private static TaskScheduler instance;
+
+    private final ThreadPoolExecutor ioExecutor;
+    private final ThreadPoolExecutor cpuExecutor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicLong sequence = new AtomicLong();
+    private final Scope globalScope = new Scope();
+    private final Map<LifecycleOwner, Scope> lifecycleScopes = new WeakHashMap<>();
+
+    public static synchronized TaskScheduler getInstance() {
+        if (instance == null) {
+            instance = new TaskScheduler();
+        }
+        return instance;
+    }
+
+    private TaskScheduler() {
+        ioExecutor = newPool("io", IO_THREADS);
+        cpuExecutor = newPool("cpu", CPU_THREADS);
+    }
+
+    private static ThreadPoolExecutor newPool(String name, int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> new Thread(() -> {
+            // Keep background work from competing with the UI thread
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "videogames-" + name + "-" + count.incrementAndGet());
+        // A priority queue makes the pool unbounded in queue but fixed in threads
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                IDLE_THREAD_TIMEOUT_S, TimeUnit.SECONDS, new PriorityBlockingQueue<>(), factory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Scope for work that is not tied to a screen, e.g. writes that must complete
+     */
+    public Scope globalScope() {
+        return globalScope;
+    }
+
+    /**
+     * Scope of the screen behind a context: the Activity's lifecycle scope when the
+     * context is a LifecycleOwner, otherwise the global scope. Call from the main thread.
+     */
+    public Scope scopeFor(Context context) {
+        if (context instanceof LifecycleOwner) {
+            return scopeFor((LifecycleOwner) context);
+        }
+        return globalScope;
+    }
+
+    /**
+     * Returns the scope of a lifecycle, created on first use and cancelled on ON_DESTROY.
+     * Call from the main thread.
+     */
+    public synchronized Scope scopeFor(LifecycleOwner owner) {
+        Scope scope = lifecycleScopes.get(owner);
+        if (scope != null) {
+            return scope;
+        }
+        scope = new Scope();
+        if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            scope.cancel();
+            return scope;
+        }
+        lifecycleScopes.put(owner, scope);
+        Scope bound = scope;
+        owner.getLifecycle().addObserver((LifecycleEventObserver) (source, event) -> {
+            if (event == Lifecycle.Event.ON_DESTROY) {
+                synchronized (TaskScheduler.this) {
+                    lifecycleScopes.remove(source);
+                }
+                bound.cancel();
+            }
+        });
+        return scope;
+    }
+
+    /**
+     * Executor view of the CPU pool for APIs that take an Executor, e.g. AsyncDifferConfig
+     */
+    public Executor cpuExecutor() {
+        return runnable -> globalScope.cpu(PRIORITY_DEFAULT, runnable);
+    }
+
+    /**
+     * A group of tasks and main-thread callbacks that are cancelled together
+     */
+    public final class Scope {
+        private final Set<Task> tasks = new HashSet<>();
+        private volatile boolean cancelled;
+
+        private Scope() {
+        }
+
+        /**
+         * Runs blocking I/O work
+         */
+        public Task io(int priority, Runnable work) {
+            return submit(ioExecutor, priority, new CancellationToken(), work);
+        }
+
+        /**
+         * Runs blocking I/O work whose requests are cancelled through the given token
+         */
+        public Task io(int priority, CancellationToken token, Runnable work) {
+            return submit(ioExecutor, priority, token, work);
+        }
+
+        /**
+         * Runs CPU-bound work
+         */
+        public Task cpu(int priority, Runnable work) {
+            return submit(cpuExecutor, priority, new CancellationToken(), work);
+        }
+
+        /**
+         * Posts to the main thread; dropped if the scope is cancelled before it runs
+         */
+        public void postToMain(Runnable action) {
+            if (cancelled) {
+                return;
+            }
+            // The scope is the message token, so cancel() can remove what is still queued
+            mainHandler.postAtTime(() -> {
+                if (!cancelled) {
+                    action.run();
+                }
+            }, this, SystemClock.uptimeMillis());
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Drops queued tasks and callbacks and cancels the tokens of running tasks
+         */
+        public void cancel() {
+            List<Task> pending;
+            synchronized (this) {
+                cancelled = true;
+                pending = new ArrayList<>(tasks);
+                tasks.clear();
+            }
+            for (Task task : pending) {
+                task.cancel();
+            }
+            mainHandler.removeCallbacksAndMessages(this);
+        }
+
+        private Task submit(ThreadPoolExecutor executor, int priority, CancellationToken token, Runnable work) {
+            Task task = new Task(this, executor, priority, sequence.getAndIncrement(), token, work);
+            synchronized (this) {
+                if (cancelled) {
+                    token.cancel();
+                    return task;
+                }
+                tasks.add(task);
+            }
+            executor.execute(task);
+            return task;
+        }
+
+        private synchronized void finished(Task task) {
+            tasks.remove(task);
+        }
+    }
+
+    /**
+     * A submitted unit of work
+     */
+    public static final class Task implements Runnable, Comparable<Task> {
+        private final Scope scope;
+        private final ThreadPoolExecutor executor;
+        private final int priority;
+        private final long sequence;
+        private final CancellationToken token;
+        private Runnable work;
+
+        private Task(Scope scope, ThreadPoolExecutor executor, int priority, long sequence,
+                     CancellationToken token, Runnable work) {
+            this.scope = scope;
+            this.executor = executor;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.token = token;
+            this.work = work;
+        }
+
+        @Override
+        public void run() {
+            Runnable runnable;
+            synchronized (this) {
+                runnable = work;
+                work = null;
+            }
+            try {
+                if (runnable != null && !token.isCancelled()) {
+                    runnable.run();
+                }
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Background task failed", e);
+            } finally {
+                scope.finished(this);
+            }
+        }
+
+        /**
+         * Removes the task from its queue, or cancels its token when it is already running
+         */
+        public void cancel() {
+            token.cancel();
+            if (executor.remove(this)) {
+                synchronized (this) {
+                    // Release captured references right away
+                    work = null;
+                }
+                scope.finished(this);
+            }
+        }
+
+        public CancellationToken getToken() {
+            return token;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            if (priority != other.priority) {
+                return Integer.compare(priority, other.priority);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.videogamesapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.SetOptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Process-wide view of the signed-in user's document, users/{uid}.
+ * One snapshot listener is attached per signed-in user and kept for the life of the
+ * process, so opening a screen costs no Firestore read: the last snapshot is replayed from
+ * memory and later changes are pushed. The liked IDs are mirrored into LikedGameSet.
+ * Likes and unlikes go through setLiked(): they show immediately and reach Firestore
+ * through a LikeMutationQueue, which snapshots never override while they are pending.
+ * The listener follows sign-in and sign-out. The time until the first snapshot from the
+ * server is recorded in NetworkMetrics. Must be used from the main thread.
+ */
+public class UserStateStore {
+    private static final String TAG = "UserStateStore";
+
+    private static UserStateStore instance;
+
+    private final FirebaseFirestore db = FirebaseFirestore.getInstance();
+    private final LikedGameSet likedGameSet = LikedGameSet.getInstance();
+    private final List<Listener> listeners = new ArrayList<>();
+    private final LikeMutationQueue mutationQueue;
+    private final NetworkMetrics metrics = NetworkMetrics.getInstance();
+
+    private String userId;
+    private ListenerRegistration registration;
+    // Times the listener until its first server snapshot, null afterwards
+    private NetworkMetrics.Call listenCall;
+    private boolean listenServedFromCache;
+    // Liked IDs of the last snapshot in Firestore order, null until the first one arrives
+    private List<Long> serverLikedGames;
+    // The same with pending local changes applied, as shown to the user
+    private List<Long> likedGames;
+
+    /**
+     * Receives the user's liked games on the main thread
+     */
+    public interface Listener {
+        /**
+         * @param likedGames Liked game IDs in Firestore order, never null
+         */
+        void onLikedGamesChanged(List<Long> likedGames);
+    }
+
+    public static synchronized UserStateStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new UserStateStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private UserStateStore(Context context) {
+        mutationQueue = new LikeMutationQueue(context, this::republish);
+        FirebaseAuth.getInstance().addAuthStateListener(auth -> onUserChanged(auth.getCurrentUser()));
+    }
+
+    /**
+     * @return The liked IDs of the last snapshot, or null before the first one
+     */
+    public List<Long> getLikedGames() {
+        return likedGames;
+    }
+
+    /**
+     * Delivers the current liked games, if known, and every change until the owner is destroyed
+     */
+    public void observe(LifecycleOwner owner, Listener listener) {
+        if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            return;
+        }
+        listeners.add(listener);
+        owner.getLifecycle().addObserver((LifecycleEventObserver) (source, event) -> {
+            if (event == Lifecycle.Event.ON_DESTROY) {
+                listeners.remove(listener);
+            }
+        });
+        if (likedGames != null) {
+            listener.onLikedGamesChanged(likedGames);
+        }
+    }
+
+    /**
+     * Like observe(), for listeners not tied to a screen; remove them with removeListener()
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+        if (likedGames != null) {
+            listener.onLikedGamesChanged(likedGames);
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Likes or unlikes a game for the signed-in user. Every screen reflects the change at
+     * once; the Firestore write happens in the background, batched with other taps.
+     */
+    public void setLiked(int gameId, boolean liked) {
+        if (!mutationQueue.enqueue(gameId, liked)) {
+            return;
+        }
+        if (serverLikedGames != null) {
+            republish();
+        } else {
+            likedGameSet.setLiked(gameId, liked);
+        }
+    }
+
+    private void onUserChanged(FirebaseUser user) {
+        String newUserId = user != null ? user.getUid() : null;
+        if (newUserId != null && newUserId.equals(userId)) {
+            return;
+        }
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+        if (listenCall != null) {
+            listenCall.fail("cancelled");
+            listenCall.end();
+            listenCall = null;
+        }
+        userId = newUserId;
+        serverLikedGames = null;
+        likedGames = null;
+        likedGameSet.clear();
+        mutationQueue.setUser(newUserId);
+        if (newUserId == null) {
+            return;
+        }
+        String listenedUserId = newUserId;
+        listenCall = metrics.begin(NetworkMetrics.FIRESTORE_USER_LISTEN);
+        listenServedFromCache = false;
+        registration = db.collection("users").document(newUserId)
+                .addSnapshotListener((snapshot, e) -> {
+                    if (!listenedUserId.equals(userId)) {
+                        return;
+                    }
+                    if (e != null) {
+                        Log.w(TAG, "Listen failed.", e);
+                        endListenCall(e);
+                        return;
+                    }
+                    if (snapshot == null) {
+                        return;
+                    }
+                    if (snapshot.getMetadata().isFromCache()) {
+                        listenServedFromCache = true;
+                    } else {
+                        endListenCall(null);
+                    }
+                    onSnapshot(snapshot);
+                });
+    }
+
+    private void endListenCall(Exception error) {
+        if (listenCall == null) {
+            return;
+        }
+        listenCall.setCacheResult(listenServedFromCache
+                ? NetworkMetrics.CacheResult.REVALIDATED : NetworkMetrics.CacheResult.MISS);
+        if (error != null) {
+            listenCall.fail(firestoreErrorClass(error));
+        }
+        listenCall.end();
+        listenCall = null;
+    }
+
+    /**
+     * Names a Firestore failure for NetworkMetrics, by its status code when it has one
+     */
+    static String firestoreErrorClass(Throwable error) {
+        if (error instanceof ExecutionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof FirebaseFirestoreException) {
+            return "firestore_" + ((FirebaseFirestoreException) error).getCode().name().toLowerCase(Locale.US);
+        }
+        return NetworkMetrics.errorClass(error);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onSnapshot(DocumentSnapshot snapshot) {
+        if (!snapshot.exists()) {
+            // First sign-in: create the document, the listener then sees it
+            if (!snapshot.getMetadata().isFromCache()) {
+                initializeUserDocument(snapshot.getReference().getId());
+            }
+            publish(new ArrayList<>());
+            return;
+        }
+        List<Long> ids = (List<Long>) snapshot.get("likedGames");
+        publish(ids != null ? ids : new ArrayList<>());
+    }
+
+    private void publish(List<Long> ids) {
+        serverLikedGames = ids;
+        republish();
+    }
+
+    private void republish() {
+        if (serverLikedGames == null) {
+            return;
+        }
+        likedGames = Collections.unmodifiableList(mutationQueue.overlay(serverLikedGames));
+        likedGameSet.replaceWith(likedGames);
+        // Backwards, so a listener may remove itself while being notified
+        for (int i = listeners.size() - 1; i >= 0; i--) {
+            listeners.get(i).onLikedGamesChanged(likedGames);
+        }
+    }
+
+    private void initializeUserDocument(String uid) {
+        // An empty merged union creates the field without clobbering a like written meanwhile
+        Map<String, Object> userData = new HashMap<>();
+        userData.put("likedGames", FieldValue.arrayUnion());
+        NetworkMetrics.Call call = metrics.begin(NetworkMetrics.FIRESTORE_USER_INIT);
+        db.collection("users").document(uid)
+                .set(userData, SetOptions.merge())
+                .addOnSuccessListener(aVoid -> {
+                    Log.d(TAG, "User document initialized");
+                    call.end();
+                })
+                .addOnFailureListener(e -> {
+                    Log.w(TAG, "Error initializing user document", e);
+                    call.fail(firestoreErrorClass(e));
+                    call.end();
+                });
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.videogamesapp;
+
+import android.app.Application;
+
+/**
+ * Sets up process-wide singletons that must exist before any screen uses them
+ */
+public class VideoGamesApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        StartupTrace.begin(StartupTrace.APPLICATION_CREATE);
+        try {
+            super.onCreate();
+            // Before any Picasso.get(), which would otherwise create the default instance
+            StartupTrace.section(StartupTrace.IMAGE_CACHE_INSTALL, () -> ImageCache.install(this));
+            // Home screen data loads while the launcher activity is still being created
+            StartupTrace.section(StartupTrace.ORCHESTRATOR_START, () -> StartupOrchestrator.getInstance().start(this));
+        } finally {
+            StartupTrace.end();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.videogamesapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the RAWG media CDN variant chosen for a target size.
+ */
+public class GameImagesTest {
+    private static final String ORIGINAL = "https://media.rawg.io/media/games/456/456dea5e1c7e3cd07060c14e96612001.jpg";
+
+    @Test
+    public void thumbnailUsesCropVariant() {
+        assertEquals("https://media.rawg.io/media/crop/600/400/games/456/456dea5e1c7e3cd07060c14e96612001.jpg",
+                GameImages.sizedUrl(ORIGINAL, 450, 360));
+    }
+
+    @Test
+    public void wideTargetUsesSmallestCoveringResize() {
+        assertEquals("https://media.rawg.io/media/resize/1280/-/games/456/456dea5e1c7e3cd07060c14e96612001.jpg",
+                GameImages.sizedUrl(ORIGINAL, 1080, 600));
+        assertEquals("https://media.rawg.io/media/resize/640/-/games/456/456dea5e1c7e3cd07060c14e96612001.jpg",
+                GameImages.sizedUrl(ORIGINAL, 640, 500));
+    }
+
+    @Test
+    public void leavesOtherUrlsUnchanged() {
+        assertEquals(ORIGINAL, GameImages.sizedUrl(ORIGINAL, 2560, 1440));
+        String variant = "https://media.rawg.io/media/crop/600/400/games/456/x.jpg";
+        assertEquals(variant, GameImages.sizedUrl(variant, 100, 100));
+        assertEquals("https://example.com/a.jpg", GameImages.sizedUrl("https://example.com/a.jpg", 100, 100));
+        assertEquals("", GameImages.sizedUrl("", 100, 100));
+        assertNull(GameImages.sizedUrl(null, 100, 100));
+    }
+}
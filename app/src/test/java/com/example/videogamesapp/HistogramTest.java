@@ -0,0 +1,58 @@
+package com.example.videogamesapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Bucketing and percentiles of Histogram.
+ */
+public class HistogramTest {
+    private final Histogram histogram = new Histogram(new long[]{5, 10, 20});
+
+    @Test
+    public void bucketOf_usesInclusiveUpperBounds() {
+        assertEquals(0, histogram.bucketOf(0));
+        assertEquals(0, histogram.bucketOf(5));
+        assertEquals(1, histogram.bucketOf(6));
+        assertEquals(3, histogram.bucketOf(60_000));
+    }
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(0, histogram.mean());
+    }
+
+    @Test
+    public void percentilesAreBucketBoundsCappedByTheMaximum() {
+        for (int i = 0; i < 90; i++) {
+            histogram.add(3);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.add(15);
+        }
+        histogram.add(400);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(5, histogram.percentile(50));
+        assertEquals(5, histogram.percentile(90));
+        assertEquals(20, histogram.percentile(95));
+        assertEquals(20, histogram.percentile(99));
+        // The overflow bucket has no bound, the maximum stands in for it
+        assertEquals(400, histogram.percentile(100));
+        assertEquals((90 * 3 + 9 * 15 + 400) / 100, histogram.mean());
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        histogram.add(7);
+        Histogram copy = histogram.copy();
+        histogram.add(8);
+
+        assertEquals(1, copy.getCount());
+        assertEquals(7, copy.getMax());
+        assertEquals(2, histogram.getCount());
+    }
+}
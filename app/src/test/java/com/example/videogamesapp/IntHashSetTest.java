@@ -0,0 +1,58 @@
+package com.example.videogamesapp;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks IntHashSet against java.util.HashSet, including removals inside probe runs.
+ */
+public class IntHashSetTest {
+
+    @Test
+    public void addContainsRemove() {
+        IntHashSet set = new IntHashSet();
+        assertTrue(set.add(3498));
+        assertFalse(set.add(3498));
+        assertTrue(set.add(0));
+        assertTrue(set.contains(3498));
+        assertTrue(set.contains(0));
+        assertFalse(set.contains(4200));
+        assertEquals(2, set.size());
+
+        assertTrue(set.remove(3498));
+        assertFalse(set.remove(3498));
+        assertFalse(set.contains(3498));
+        assertTrue(set.remove(0));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void matchesHashSetUnderRandomOperations() {
+        Random random = new Random(42);
+        IntHashSet set = new IntHashSet();
+        Set<Integer> reference = new HashSet<>();
+        // A narrow range forces collisions, long probe runs and growth
+        for (int i = 0; i < 200_000; i++) {
+            int value = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(value), set.remove(value));
+            } else {
+                assertEquals(reference.add(value), set.add(value));
+            }
+        }
+        assertEquals(reference.size(), set.size());
+        for (int value = 0; value < 5_000; value++) {
+            assertEquals(reference.contains(value), set.contains(value));
+        }
+
+        int[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(reference.stream().mapToInt(Integer::intValue).sorted().toArray(), values);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.videogamesapp;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Aggregation and percentiles of NetworkMetrics.
+ */
+public class NetworkMetricsTest {
+    private final NetworkMetrics metrics = new NetworkMetrics();
+
+    @Test
+    public void cacheHitsAreCountedButNotTimed() {
+        NetworkMetrics.Call hit = metrics.begin(NetworkMetrics.RAWG_GAMES);
+        hit.setCacheResult(NetworkMetrics.CacheResult.HIT);
+        hit.end();
+        NetworkMetrics.Call miss = metrics.begin(NetworkMetrics.RAWG_GAMES);
+        miss.setCacheResult(NetworkMetrics.CacheResult.MISS);
+        miss.addBytesIn(1200);
+        miss.end();
+        // A second end() must not count the call twice
+        miss.end();
+
+        NetworkMetrics.EndpointSnapshot games = metrics.snapshot().get(0);
+        assertEquals(2, games.calls);
+        assertEquals(1, games.getCount(NetworkMetrics.CacheResult.HIT));
+        assertEquals(1, games.getCount(NetworkMetrics.CacheResult.MISS));
+        assertEquals(1200, games.bytesIn);
+        assertTrue(games.toString(), games.toString().contains("(n=1)"));
+    }
+
+    @Test
+    public void percentilesAreReadFromTheHistogram() throws Exception {
+        // 100 calls of ~0 ms and a single slow one: p50 and p95 stay in the first bucket
+        for (int i = 0; i < 100; i++) {
+            metrics.begin(NetworkMetrics.RAWG_GAME).end();
+        }
+        NetworkMetrics.Call slow = metrics.begin(NetworkMetrics.RAWG_GAME);
+        Thread.sleep(30);
+        slow.end();
+
+        NetworkMetrics.EndpointSnapshot game = metrics.snapshot().get(0);
+        assertEquals(101, game.calls);
+        assertEquals(5, game.percentileMs(50));
+        assertEquals(5, game.percentileMs(95));
+        assertTrue(game.maxMs() >= 30);
+        assertEquals(game.maxMs(), game.percentileMs(100));
+    }
+
+    @Test
+    public void failuresAndRetriesAreGroupedByClass() {
+        NetworkMetrics.Call timeout = metrics.begin(NetworkMetrics.FIRESTORE_LIKES_COMMIT);
+        timeout.fail(new ExecutionException(new SocketTimeoutException()));
+        timeout.end();
+        NetworkMetrics.Call http = metrics.begin(NetworkMetrics.FIRESTORE_LIKES_COMMIT);
+        http.fail("http_503");
+        // The first failure reported wins over the exception it is rethrown as
+        http.fail(new IOException("HTTP 503"));
+        http.end();
+        metrics.recordRetry(NetworkMetrics.FIRESTORE_LIKES_COMMIT);
+
+        NetworkMetrics.EndpointSnapshot commit = metrics.snapshot().get(0);
+        assertEquals(Integer.valueOf(1), commit.errors.get("timeout"));
+        assertEquals(Integer.valueOf(1), commit.errors.get("http_503"));
+        assertEquals(2, commit.getFailures());
+        assertEquals(1, commit.retries);
+    }
+
+    @Test
+    public void dumpIsSortedByEndpoint() {
+        metrics.begin(NetworkMetrics.RAWG_SEARCH).end();
+        metrics.begin(NetworkMetrics.FIRESTORE_USER_LISTEN).end();
+        metrics.begin(NetworkMetrics.RAWG_GAME).end();
+
+        List<NetworkMetrics.EndpointSnapshot> endpoints = metrics.snapshot();
+        assertEquals(NetworkMetrics.FIRESTORE_USER_LISTEN, endpoints.get(0).endpoint);
+        assertEquals(NetworkMetrics.RAWG_GAME, endpoints.get(1).endpoint);
+        assertEquals(NetworkMetrics.RAWG_SEARCH, endpoints.get(2).endpoint);
+        String dump = metrics.dump();
+        assertTrue(dump.indexOf(NetworkMetrics.RAWG_GAME) < dump.indexOf(NetworkMetrics.RAWG_SEARCH));
+
+        metrics.reset();
+        assertTrue(metrics.snapshot().isEmpty());
+    }
+}
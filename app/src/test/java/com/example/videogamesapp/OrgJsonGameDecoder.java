@@ -0,0 +1,39 @@
+package com.example.videogamesapp;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The StringBuilder + org.json decoding NewGamesAdapter.fetchNewGames did before
+ * RawgJsonParser, kept as a reference for the parser's tests and benchmarks.
+ */
+final class OrgJsonGameDecoder {
+
+    private OrgJsonGameDecoder() {
+    }
+
+    static List<NewGame> decodeResults(byte[] body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        StringBuilder builder = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            builder.append(line);
+        }
+        JSONArray gamesArray = new JSONObject(builder.toString()).getJSONArray("results");
+        List<NewGame> games = new ArrayList<>();
+        for (int i = 0; i < gamesArray.length(); i++) {
+            JSONObject game = gamesArray.getJSONObject(i);
+            games.add(new NewGame(game.getInt("id"), game.getString("name"),
+                    game.optString("background_image", ""), game.optString("description", "")));
+        }
+        return games;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.videogamesapp;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs RawgClient against a local mock HTTP server.
+ */
+public class RawgClientTest {
+    private static final String LIST_BODY = "{\"count\":2,\"next\":\"http://localhost/api/games?page=2\","
+            + "\"results\":[{\"id\":1,\"name\":\"First\",\"background_image\":\"a.jpg\"},"
+            + "{\"id\":2,\"name\":\"Second\",\"background_image\":null}]}";
+
+    private HttpServer server;
+    private RawgClient client;
+    private final AtomicReference<String> lastQuery = new AtomicReference<>();
+    private final AtomicInteger notModifiedCount = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/games", exchange -> {
+            lastQuery.set(exchange.getRequestURI().getRawQuery());
+            byte[] body = LIST_BODY.getBytes(StandardCharsets.UTF_8);
+            if ("gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding"))) {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                    gzip.write(body);
+                }
+                body = compressed.toByteArray();
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/api/games/7", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedCount.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = "{\"id\":7,\"name\":\"Seventh\",\"description\":\"Text\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("ETag", "\"v1\"");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/api/games/404", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        client = new RawgClient("http://127.0.0.1:" + server.getAddress().getPort() + "/api/", "test-key", 2000, 2000);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void listGames_decodesGzipAndParsesResults() throws IOException {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("page_size", "20");
+        GamePage page = client.listGames(params);
+
+        assertEquals(2, page.getResults().size());
+        assertEquals("First", page.getResults().get(0).getGameName());
+        assertEquals(2, page.getCount());
+        assertEquals("http://localhost/api/games?page=2", page.getNext());
+        assertEquals("key=test-key&page_size=20", lastQuery.get());
+    }
+
+    @Test
+    public void searchGames_encodesQueryAndGenre() throws IOException {
+        client.searchGames("half life", 4);
+        assertEquals("key=test-key&search=half+life&genres=4", lastQuery.get());
+    }
+
+    @Test(expected = IOException.class)
+    public void getGame_throwsOnHttpError() throws IOException {
+        client.getGame(404);
+    }
+
+    @Test
+    public void getGame_revalidatesExpiredEntryWithEtag() throws IOException {
+        // Zero lifetime: every call goes to the server, but with the stored validator
+        client.setResponseCache(new RawgResponseCache(null, 0, 64 * 1024, (path, params) -> 0));
+
+        assertEquals("Seventh", client.getGame(7).getGameName());
+        assertEquals(0, notModifiedCount.get());
+
+        NewGame revalidated = client.getGame(7);
+        assertEquals(1, notModifiedCount.get());
+        assertEquals("Seventh", revalidated.getGameName());
+        assertEquals("Text", revalidated.getDescription());
+    }
+
+    @Test
+    public void requests_areRecordedPerEndpoint() throws IOException {
+        NetworkMetrics metrics = new NetworkMetrics();
+        client.setMetrics(metrics);
+        client.setResponseCache(new RawgResponseCache(null, 0, 64 * 1024, (path, params) -> 0));
+
+        client.getGame(7);
+        client.getGame(7);
+        client.searchGames("portal", -1);
+        try {
+            client.getGame(404);
+            fail("Expected HTTP 404 to throw");
+        } catch (IOException expected) {
+            // recorded below
+        }
+
+        Map<String, NetworkMetrics.EndpointSnapshot> endpoints = new LinkedHashMap<>();
+        for (NetworkMetrics.EndpointSnapshot endpoint : metrics.snapshot()) {
+            endpoints.put(endpoint.endpoint, endpoint);
+        }
+        NetworkMetrics.EndpointSnapshot game = endpoints.get(NetworkMetrics.RAWG_GAME);
+        assertEquals(3, game.calls);
+        assertEquals(2, game.getCount(NetworkMetrics.CacheResult.MISS));
+        assertEquals(1, game.getCount(NetworkMetrics.CacheResult.REVALIDATED));
+        assertEquals(Integer.valueOf(1), game.errors.get("http_404"));
+        assertTrue(game.bytesIn > 0);
+
+        NetworkMetrics.EndpointSnapshot search = endpoints.get(NetworkMetrics.RAWG_SEARCH);
+        assertEquals(1, search.calls);
+        assertEquals(0, search.getFailures());
+        assertFalse(endpoints.containsKey(NetworkMetrics.RAWG_GAMES));
+    }
+}
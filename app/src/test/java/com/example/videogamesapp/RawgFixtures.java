@@ -0,0 +1,34 @@
+package com.example.videogamesapp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Loads recorded RAWG responses from src/test/resources/fixtures.
+ */
+final class RawgFixtures {
+
+    private RawgFixtures() {
+    }
+
+    static InputStream open(String name) throws IOException {
+        InputStream in = RawgFixtures.class.getClassLoader().getResourceAsStream("fixtures/" + name);
+        if (in == null) {
+            throw new IOException("Missing fixture " + name);
+        }
+        return in;
+    }
+
+    static byte[] read(String name) throws IOException {
+        try (InputStream in = open(name)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.videogamesapp;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RawgJsonParserTest {
+
+    @Test
+    public void readGamePage_readsResultsAndSkipsNestedArrays() throws IOException {
+        try (InputStream in = RawgFixtures.open("rawg_games_page40.json")) {
+            GamePage page = RawgJsonParser.readGamePage(in);
+            assertEquals(40, page.getResults().size());
+            assertEquals(878934, page.getCount());
+            assertTrue(page.getNext().contains("page=2"));
+            NewGame first = page.getResults().get(0);
+            assertEquals(900000, first.getGameId());
+            assertTrue(first.getImageUrl().startsWith("https://media.rawg.io/media/games/"));
+            assertEquals("", first.getDescription());
+        }
+    }
+
+    @Test
+    public void readGamePage_matchesOrgJsonDecoding() throws IOException {
+        byte[] body = RawgFixtures.read("rawg_games_page40.json");
+        List<NewGame> expected = OrgJsonGameDecoder.decodeResults(body);
+        List<NewGame> actual = RawgJsonParser.readGamePage(new ByteArrayInputStream(body)).getResults();
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getGameId(), actual.get(i).getGameId());
+            assertEquals(expected.get(i).getGameName(), actual.get(i).getGameName());
+            assertEquals(expected.get(i).getImageUrl(), actual.get(i).getImageUrl());
+            assertEquals(expected.get(i).getDescription(), actual.get(i).getDescription());
+        }
+    }
+
+    @Test
+    public void readGamePage_mapsNullsToEmptyStrings() throws IOException {
+        String body = "{\"next\":null,\"results\":[{\"id\":7,\"name\":\"X\",\"background_image\":null}]}";
+        GamePage page = RawgJsonParser.readGamePage(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        assertNull(page.getNext());
+        assertEquals(1, page.getCount());
+        assertEquals("", page.getResults().get(0).getImageUrl());
+    }
+
+    @Test
+    public void readGame_readsDescription() throws IOException {
+        try (InputStream in = RawgFixtures.open("rawg_game_detail.json")) {
+            NewGame game = RawgJsonParser.readGame(in, 3498);
+            assertEquals("Grand Theft Auto V", game.getGameName());
+            assertTrue(game.getDescription().startsWith("<p>Rockstar Games"));
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.videogamesapp;
+
+import android.os.Looper;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.MockedStatic;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.experimental.LazyApplication;
+import org.robolectric.annotation.experimental.LazyApplication.LazyLoad;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Records the markers StartupTrace emits, without the platform tracer.
+ * The application is created lazily, so the recorder is installed before its onCreate.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(application = StartupTraceTest.SeededApplication.class)
+@LazyApplication(LazyLoad.ON)
+public class StartupTraceTest {
+    // Longer section names are rejected by android.os.Trace
+    private static final int MAX_SECTION_LENGTH = 127;
+
+    private final List<String> markers = new ArrayList<>();
+
+    @Before
+    public void recordMarkers() {
+        StartupTrace.setSink(new StartupTrace.Sink() {
+            @Override
+            public void begin(String section) {
+                markers.add("B " + section);
+            }
+
+            @Override
+            public void end() {
+                markers.add("E");
+            }
+
+            @Override
+            public void beginAsync(String section, int cookie) {
+                markers.add("S " + section + " " + cookie);
+            }
+
+            @Override
+            public void endAsync(String section, int cookie) {
+                markers.add("F " + section + " " + cookie);
+            }
+        });
+    }
+
+    @After
+    public void restorePlatformTracer() {
+        StartupTrace.setSink(null);
+    }
+
+    @Test
+    public void sectionsNestInCallOrder() {
+        StartupTrace.section(StartupTrace.APPLICATION_CREATE, () ->
+                StartupTrace.section(StartupTrace.IMAGE_CACHE_INSTALL, () -> markers.add("work")));
+
+        assertEquals(Arrays.asList("B " + StartupTrace.APPLICATION_CREATE, "B " + StartupTrace.IMAGE_CACHE_INSTALL,
+                "work", "E", "E"), markers);
+    }
+
+    @Test
+    public void sectionIsClosedWhenWorkThrows() {
+        try {
+            StartupTrace.section(StartupTrace.ORCHESTRATOR_START, () -> {
+                throw new IllegalStateException("boom");
+            });
+            fail("Expected the exception to propagate");
+        } catch (IllegalStateException expected) {
+            assertEquals(Arrays.asList("B " + StartupTrace.ORCHESTRATOR_START, "E"), markers);
+        }
+    }
+
+    @Test
+    public void asyncSectionsCarryTheirCookie() {
+        String section = StartupTrace.FIRST_CONTENT_PREFIX + "featured";
+        StartupTrace.beginAsync(section, 7);
+        StartupTrace.endAsync(section, 7);
+
+        assertEquals(Arrays.asList("S " + section + " 7", "F " + section + " 7"), markers);
+    }
+
+    @Test
+    public void sectionNamesAreUniqueAndAcceptedByTheTracer() throws IllegalAccessException {
+        Set<String> names = new HashSet<>();
+        for (Field field : StartupTrace.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                String name = (String) field.get(null);
+                assertTrue(name, name.startsWith("Startup."));
+                assertTrue(name, name.length() <= MAX_SECTION_LENGTH);
+                assertTrue("Duplicate section " + name, names.add(name));
+            }
+        }
+        assertTrue(names.contains(StartupTrace.MAIN_CREATE));
+    }
+
+    @Test
+    public void coldStartEmitsEveryPhase() throws InterruptedException {
+        FirebaseAuth auth = mock(FirebaseAuth.class);
+        FirebaseUser user = mock(FirebaseUser.class);
+        when(auth.getCurrentUser()).thenReturn(user);
+        try (MockedStatic<FirebaseAuth> authStatic = mockStatic(FirebaseAuth.class);
+             MockedStatic<FirebaseFirestore> firestoreStatic = mockStatic(FirebaseFirestore.class)) {
+            authStatic.when(FirebaseAuth::getInstance).thenReturn(auth);
+            firestoreStatic.when(FirebaseFirestore::getInstance).thenReturn(mock(FirebaseFirestore.class));
+
+            // Creates the application, which starts the orchestrator
+            ApplicationProvider.getApplicationContext();
+            Robolectric.buildActivity(MainActivity.class).create();
+
+            String featured = StartupTrace.FIRST_CONTENT_PREFIX + StartupOrchestrator.SOURCE_FEATURED;
+            String newGames = StartupTrace.FIRST_CONTENT_PREFIX + StartupOrchestrator.SOURCE_NEW_GAMES;
+            int featuredCookie = StartupOrchestrator.SOURCE_FEATURED.hashCode();
+            int newGamesCookie = StartupOrchestrator.SOURCE_NEW_GAMES.hashCode();
+            idleMainLooperUntil(() -> markers.contains("F " + featured + " " + featuredCookie)
+                    && markers.contains("F " + newGames + " " + newGamesCookie));
+
+            int applicationEnd = assertSection(StartupTrace.APPLICATION_CREATE);
+            int imageCacheEnd = assertSection(StartupTrace.IMAGE_CACHE_INSTALL);
+            int orchestratorEnd = assertSection(StartupTrace.ORCHESTRATOR_START);
+            assertTrue(imageCacheEnd < applicationEnd);
+            assertTrue(orchestratorEnd < applicationEnd);
+            assertTrue(markers.indexOf("B " + StartupTrace.MAIN_CREATE) > applicationEnd);
+            assertSection(StartupTrace.MAIN_CREATE);
+            assertAsyncSection(featured, featuredCookie);
+            assertAsyncSection(newGames, newGamesCookie);
+        }
+    }
+
+    /**
+     * Asserts the section was opened once and closed on the same level
+     * @return Index of its end marker
+     */
+    private int assertSection(String section) {
+        int begin = markers.indexOf("B " + section);
+        assertTrue(section + " was not opened in " + markers, begin >= 0);
+        assertEquals(section + " was opened twice", begin, markers.lastIndexOf("B " + section));
+        int depth = 0;
+        for (int i = begin; i < markers.size(); i++) {
+            String marker = markers.get(i);
+            if (marker.startsWith("B ")) {
+                depth++;
+            } else if (marker.equals("E") && --depth == 0) {
+                return i;
+            }
+        }
+        fail(section + " was not closed in " + markers);
+        return -1;
+    }
+
+    private void assertAsyncSection(String section, int cookie) {
+        int start = markers.indexOf("S " + section + " " + cookie);
+        assertTrue(section + " was not started in " + markers, start >= 0);
+        assertTrue(section + " finished before it started", markers.indexOf("F " + section + " " + cookie) > start);
+    }
+
+    /**
+     * Runs main thread callbacks while Room loads on the scheduler's threads
+     */
+    private static void idleMainLooperUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            shadowOf(Looper.getMainLooper()).idle();
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Stores fresh home screen lists before startup, so both are served from Room
+     * without any request to RAWG
+     */
+    public static class SeededApplication extends VideoGamesApplication {
+        @Override
+        public void onCreate() {
+            GameRepository repository = GameRepository.getInstance(this);
+            repository.saveList(GameRepository.LIST_FEATURED, new GamePage(Arrays.asList(
+                    new NewGame(3498, "Grand Theft Auto V", null, ""),
+                    new NewGame(3328, "The Witcher 3: Wild Hunt", null, "")), null, 2));
+            repository.saveList(GameRepository.LIST_NEW_GAMES, new GamePage(Arrays.asList(
+                    new NewGame(58175, "God of War", null, "")), null, 1));
+            super.onCreate();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+plugins {
+    java
+    id("me.champeau.jmh")
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+// The app classes under test have no Android dependencies, so they are compiled from the
+// app's sources for the plain JVM. The recorded RAWG responses, the helper reading them
+// and the org.json baseline decoder are shared with the app's tests.
+sourceSets {
+    main {
+        java {
+            srcDir("../app/src/main/java")
+            srcDir("../app/src/test/java")
+            include(
+                "com/example/videogamesapp/RawgJsonParser.java",
+                "com/example/videogamesapp/GamePage.java",
+                "com/example/videogamesapp/NewGame.java",
+                "com/example/videogamesapp/Game.java",
+                "com/example/videogamesapp/IntHashSet.java",
+                "com/example/videogamesapp/LikedGameSet.java",
+                "com/example/videogamesapp/RawgFixtures.java",
+                "com/example/videogamesapp/OrgJsonGameDecoder.java"
+            )
+        }
+        resources {
+            srcDir("../app/src/test/resources")
+            include("fixtures/**")
+        }
+    }
+}
+
+dependencies {
+    implementation("com.google.code.gson:gson:2.10.1")
+    implementation("androidx.room:room-common:2.6.1")
+    // For OrgJsonGameDecoder, the parser benchmark's baseline
+    implementation("org.json:json:20231013")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    // Allocation rates next to the timings
+    profilers.add("gc")
+    // Machine-readable results for CI to archive and compare between builds
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
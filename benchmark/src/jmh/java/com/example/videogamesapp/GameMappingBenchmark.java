@@ -0,0 +1,53 @@
+package com.example.videogamesapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping one 40-game page between the network model and Room rows, done whenever a
+ * page is stored (NewGame to Game) or served from Room (Game to NewGame).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameMappingBenchmark {
+    private List<NewGame> games;
+    private List<Game> rows;
+
+    @Setup
+    public void loadPage() throws IOException {
+        byte[] page = RawgFixtures.read("rawg_games_page40.json");
+        games = RawgJsonParser.readGamePage(new ByteArrayInputStream(page)).getResults();
+        rows = toRows();
+    }
+
+    @Benchmark
+    public List<Game> toRows() {
+        long now = System.currentTimeMillis();
+        List<Game> mapped = new ArrayList<>(games.size());
+        for (int i = 0; i < games.size(); i++) {
+            mapped.add(Game.fromNewGame(games.get(i), now));
+        }
+        return mapped;
+    }
+
+    @Benchmark
+    public List<NewGame> toNewGames() {
+        List<NewGame> mapped = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            mapped.add(rows.get(i).toNewGame());
+        }
+        return mapped;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.videogamesapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The liked-games operations of a user with 10, 1k or 10k likes: turning the Firestore
+ * List<Long> into something to look up in, and the per-row "is this game liked" check.
+ * Each pair pits the List<Integer> the screens used to keep against IntHashSet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LikedGamesBenchmark {
+    // Lookups per invocation, half of them liked games, as in a scrolled list
+    private static final int PROBES = 256;
+
+    @Param({"10", "1000", "10000"})
+    public int size;
+
+    private List<Long> firestoreIds;
+    // The same likes with every tenth one replaced, as after a few likes and unlikes
+    private List<Long> changedIds;
+    private List<Long> lastSnapshot;
+    private LikedGameSet likedGameSet;
+    private List<Integer> likedList;
+    private IntHashSet likedSet;
+    private int[] probes;
+
+    @Setup
+    public void createLikes() {
+        Random random = new Random(42);
+        firestoreIds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // RAWG IDs are spread over roughly this range
+            firestoreIds.add((long) random.nextInt(1_000_000));
+        }
+        changedIds = new ArrayList<>(firestoreIds);
+        for (int i = 0; i < size; i += 10) {
+            changedIds.set(i, 2_000_000L + i);
+        }
+        likedGameSet = new LikedGameSet();
+        likedGameSet.replaceWith(firestoreIds);
+        lastSnapshot = firestoreIds;
+        likedList = toIntegerList();
+        likedSet = toIntHashSet();
+
+        probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = i % 2 == 0 ? likedList.get(random.nextInt(size)) : 1_000_000 + random.nextInt(1_000_000);
+        }
+    }
+
+    /**
+     * The List<Long> to List<Integer> conversion MainActivity used to do on every snapshot
+     */
+    @Benchmark
+    public List<Integer> toIntegerList() {
+        List<Integer> ids = new ArrayList<>();
+        for (Long id : firestoreIds) {
+            ids.add(id.intValue());
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public IntHashSet toIntHashSet() {
+        IntHashSet ids = new IntHashSet(firestoreIds.size());
+        for (int i = 0; i < firestoreIds.size(); i++) {
+            ids.add(firestoreIds.get(i).intValue());
+        }
+        return ids;
+    }
+
+    /**
+     * A snapshot applied to the liked set, which diffs it against the current likes.
+     * Alternates between two snapshots so that every call has IDs to add and remove.
+     */
+    @Benchmark
+    public LikedGameSet replaceLikedGameSet() {
+        lastSnapshot = lastSnapshot == firestoreIds ? changedIds : firestoreIds;
+        likedGameSet.replaceWith(lastSnapshot);
+        return likedGameSet;
+    }
+
+    @Benchmark
+    public int containsInList() {
+        int liked = 0;
+        for (int probe : probes) {
+            if (likedList.contains(probe)) {
+                liked++;
+            }
+        }
+        return liked;
+    }
+
+    @Benchmark
+    public int containsInIntHashSet() {
+        int liked = 0;
+        for (int probe : probes) {
+            if (likedSet.contains(probe)) {
+                liked++;
+            }
+        }
+        return liked;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.videogamesapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Decoding one recorded page_size=40 RAWG list response, as done for every catalog page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+public class RawgParseBenchmark {
+    private byte[] page;
+
+    @Setup
+    public void loadFixture() throws IOException {
+        page = RawgFixtures.read("rawg_games_page40.json");
+    }
+
+    @Benchmark
+    public GamePage streamingParser() throws IOException {
+        return RawgJsonParser.readGamePage(new ByteArrayInputStream(page));
+    }
+
+    /**
+     * The StringBuilder + org.json decoding that fetchNewGames() used to do
+     */
+    @Benchmark
+    public List<NewGame> orgJsonBaseline() throws IOException {
+        return OrgJsonGameDecoder.decodeResults(page);
+    }
+}
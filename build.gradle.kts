@@ -1,3 +1,4 @@
 plugins {
     id("com.android.application") version "8.1.1" apply false
+    id("me.champeau.jmh") version "0.7.2" apply false
 }
\ No newline at end of file